@@ -14,6 +14,7 @@ public class UpdateConfig {
     private String latestVersion;
     private String downloadUrl;
     private String releaseNotes;
+    private String checksum;
     private boolean updateAvailable;
 
     public UpdateConfig() {
@@ -60,6 +61,14 @@ public class UpdateConfig {
         this.releaseNotes = releaseNotes;
     }
 
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(String checksum) {
+        this.checksum = checksum;
+    }
+
     public boolean isUpdateAvailable() {
         return updateAvailable;
     }
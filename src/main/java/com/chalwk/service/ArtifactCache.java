@@ -0,0 +1,326 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.*;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Local cache of downloaded server packages. Blobs are stored once per
+ * SHA-256 of their content, and an index maps each download URL to its blob
+ * together with the ETag/Last-Modified needed to revalidate it.
+ */
+public class ArtifactCache {
+
+    private static final File CACHE_DIR = new File("artifact_cache");
+    private static final File BLOB_DIR = new File(CACHE_DIR, "blobs");
+    private static final File STAGING_DIR = new File(CACHE_DIR, "staging");
+    private static final File INDEX_FILE = new File(CACHE_DIR, "index.properties");
+
+    // Within this window a cached artifact is used without asking the server
+    private static final long FRESHNESS_MS = 15 * 60 * 1000;
+    private static final Duration REVALIDATE_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<>();
+    private static long maxSize = 2L * 1024 * 1024 * 1024;
+    private static boolean loaded;
+
+    public static synchronized void setMaxSize(long bytes) {
+        maxSize = bytes;
+    }
+
+    /**
+     * Returns the cached artifact for {@code url} if we have one and it is
+     * still current, revalidating with a conditional request once it is
+     * older than the freshness window. Returns null on a miss.
+     */
+    public static File lookup(String url) {
+        Entry entry;
+        synchronized (ArtifactCache.class) {
+            load();
+            entry = entries.get(url);
+            if (entry == null) return null;
+
+            File blob = entry.blobFile();
+            if (!blob.isFile() || blob.length() != entry.size) {
+                entries.remove(url);
+                save();
+                return null;
+            }
+
+            if (System.currentTimeMillis() - entry.validated < FRESHNESS_MS) {
+                entry.accessed = System.currentTimeMillis();
+                save();
+                return blob;
+            }
+        }
+
+        Boolean unchanged = revalidate(url, entry);
+
+        synchronized (ArtifactCache.class) {
+            if (Boolean.FALSE.equals(unchanged)) {
+                return null;
+            }
+
+            // Unchanged, or we couldn't reach the server: a known-good copy beats failing the install
+            long now = System.currentTimeMillis();
+            if (unchanged != null) entry.validated = now;
+            entry.accessed = now;
+            save();
+            return entry.blobFile();
+        }
+    }
+
+    /**
+     * True if {@link #lookup} would return the cached artifact for
+     * {@code url} without asking the server.
+     */
+    public static synchronized boolean isFresh(String url) {
+        load();
+        Entry entry = entries.get(url);
+        return entry != null && System.currentTimeMillis() - entry.validated < FRESHNESS_MS;
+    }
+
+    /**
+     * Downloads {@code url} into the cache and returns the stored artifact.
+     * Interrupted downloads resume from the staging area on the next call.
+     */
+    public static File download(String url, String expectedSha256, ProgressListener progress) throws IOException {
+        File staging = stagingFile(url);
+        SegmentedDownloader.Result result = SegmentedDownloader.download(url, staging, expectedSha256, progress);
+        return store(url, staging, result.getSha256(), result.getEtag(), result.getLastModified());
+    }
+
+    /**
+     * Moves a freshly downloaded and verified file into the cache under its
+     * content hash, which the caller computed while downloading it.
+     */
+    public static File store(String url, File file, String sha256,
+                             String etag, String lastModified) throws IOException {
+        long size = file.length();
+
+        synchronized (ArtifactCache.class) {
+            load();
+            File blob = new File(BLOB_DIR, sha256);
+
+            if (blob.isFile() && blob.length() == size) {
+                // Same bytes already cached for another URL (or an earlier fetch)
+                Files.delete(file.toPath());
+            } else {
+                Files.createDirectories(BLOB_DIR.toPath());
+                Files.move(file.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            long now = System.currentTimeMillis();
+            entries.put(url, new Entry(url, sha256, etag, lastModified, size, now, now));
+            evict(sha256);
+            save();
+            return blob;
+        }
+    }
+
+    /**
+     * True if {@code artifact}, as returned by this cache, has the given
+     * content hash. A null hash matches anything.
+     */
+    public static boolean hasSha256(File artifact, String sha256) {
+        // Blobs are named after their content hash
+        return sha256 == null || artifact.getName().equalsIgnoreCase(sha256);
+    }
+
+    public static File stagingFile(String url) throws IOException {
+        Files.createDirectories(STAGING_DIR.toPath());
+        String name = sha256(url.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return new File(STAGING_DIR, name + ".download");
+    }
+
+    public static boolean hasPartialDownload(String url) {
+        try {
+            return new File(stagingFile(url).getPath() + ".part").exists();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return TRUE if the server says our copy is current, FALSE if it has
+     * changed, null if the server could not be asked
+     */
+    private static Boolean revalidate(String url, Entry entry) {
+        if (entry.etag == null && entry.lastModified == null) return false;
+
+        // Only the status matters; keep the body to a single byte if it has changed
+        HttpRequest.Builder request = HttpTransport.request(url)
+                .header("Range", "bytes=0-0")
+                .timeout(REVALIDATE_TIMEOUT);
+        if (entry.etag != null) request.header("If-None-Match", entry.etag);
+        if (entry.lastModified != null) request.header("If-Modified-Since", entry.lastModified);
+
+        try {
+            HttpResponse<InputStream> response = HttpTransport.send(request.build());
+            // Don't read on: a server that ignores the range would send the whole package
+            response.body().close();
+
+            int responseCode = response.statusCode();
+            if (responseCode == 304) return true;
+            if (responseCode == 200 || responseCode == 206) return false;
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void evict(String keepSha256) {
+        // Several URLs can share one blob; size and recency are tracked per blob
+        Map<String, Long> blobSizes = new HashMap<>();
+        Map<String, Long> blobAccess = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            blobSizes.put(entry.sha256, entry.size);
+            blobAccess.merge(entry.sha256, entry.accessed, Math::max);
+        }
+
+        long total = 0;
+        for (long size : blobSizes.values()) total += size;
+
+        List<String> byAge = new ArrayList<>(blobAccess.keySet());
+        byAge.sort(Comparator.comparingLong(blobAccess::get));
+
+        for (String sha256 : byAge) {
+            if (total <= maxSize) break;
+            if (sha256.equals(keepSha256)) continue;
+
+            entries.values().removeIf(entry -> entry.sha256.equals(sha256));
+            try {
+                Files.deleteIfExists(new File(BLOB_DIR, sha256).toPath());
+            } catch (IOException e) {
+                System.err.println("Failed to evict cached artifact: " + e.getMessage());
+            }
+            total -= blobSizes.get(sha256);
+        }
+    }
+
+    private static void load() {
+        if (loaded) return;
+        loaded = true;
+
+        Properties prop = new Properties();
+        try (InputStream input = new FileInputStream(INDEX_FILE)) {
+            prop.load(input);
+        } catch (IOException e) {
+            // No cache yet
+            return;
+        }
+
+        int count;
+        try {
+            count = Integer.parseInt(prop.getProperty("entries", "0"));
+        } catch (NumberFormatException e) {
+            // Damaged index; start with an empty cache
+            System.err.println("Ignoring damaged artifact cache index");
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            String prefix = "entry." + i + ".";
+            try {
+                Entry entry = new Entry(
+                        prop.getProperty(prefix + "url"),
+                        prop.getProperty(prefix + "sha256"),
+                        prop.getProperty(prefix + "etag"),
+                        prop.getProperty(prefix + "lastModified"),
+                        Long.parseLong(prop.getProperty(prefix + "size")),
+                        Long.parseLong(prop.getProperty(prefix + "validated")),
+                        Long.parseLong(prop.getProperty(prefix + "accessed")));
+                if (entry.url != null && entry.sha256 != null) {
+                    entries.put(entry.url, entry);
+                }
+            } catch (RuntimeException e) {
+                // Skip damaged entries
+            }
+        }
+    }
+
+    private static void save() {
+        Properties prop = new Properties();
+        int i = 0;
+        for (Entry entry : entries.values()) {
+            String prefix = "entry." + i++ + ".";
+            prop.setProperty(prefix + "url", entry.url);
+            prop.setProperty(prefix + "sha256", entry.sha256);
+            if (entry.etag != null) prop.setProperty(prefix + "etag", entry.etag);
+            if (entry.lastModified != null) prop.setProperty(prefix + "lastModified", entry.lastModified);
+            prop.setProperty(prefix + "size", String.valueOf(entry.size));
+            prop.setProperty(prefix + "validated", String.valueOf(entry.validated));
+            prop.setProperty(prefix + "accessed", String.valueOf(entry.accessed));
+        }
+        prop.setProperty("entries", String.valueOf(i));
+
+        try {
+            Files.createDirectories(CACHE_DIR.toPath());
+            try (OutputStream output = new FileOutputStream(INDEX_FILE)) {
+                prop.store(output, "Halo Server Manager Artifact Cache");
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to save artifact cache index: " + e.getMessage());
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        return toHex(newSha256().digest(data));
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static class Entry {
+        final String url;
+        final String sha256;
+        final String etag;
+        final String lastModified;
+        final long size;
+        long validated;
+        long accessed;
+
+        Entry(String url, String sha256, String etag, String lastModified,
+              long size, long validated, long accessed) {
+            this.url = url;
+            this.sha256 = sha256;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.size = size;
+            this.validated = validated;
+            this.accessed = accessed;
+        }
+
+        File blobFile() {
+            return new File(BLOB_DIR, sha256);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fixed-size, chunked hand-off between one producer thread (the network)
+ * and one consumer thread (the decompressor). Chunk buffers are recycled, so
+ * the pipe allocates nothing once it is running, and a full pipe blocks the
+ * producer instead of growing.
+ */
+class BoundedPipe {
+
+    private static final Chunk END_OF_STREAM = new Chunk(0);
+
+    private final BlockingQueue<Chunk> filled;
+    private final BlockingQueue<Chunk> free;
+    private volatile boolean closed;
+    // An IOException, or a RuntimeException such as a cancelled job's
+    private volatile Exception producerError;
+
+    BoundedPipe(int chunkCount, int chunkSize) {
+        filled = new ArrayBlockingQueue<>(chunkCount + 1);
+        free = new ArrayBlockingQueue<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            free.add(new Chunk(chunkSize));
+        }
+    }
+
+    /**
+     * Copies {@code source} into the pipe until it is exhausted or the
+     * consumer closes the pipe. Runs on the producer thread.
+     *
+     * @param sink  optional channel that receives a copy of every chunk
+     * @param check optional integrity check fed with every chunk
+     * @return the number of bytes transferred
+     */
+    long pump(InputStream source, FileChannel sink, IntegrityCheck check,
+              String phase, ProgressListener progress, long fileSize) {
+        long total = 0;
+        try {
+            while (!closed) {
+                Chunk chunk = free.poll(100, TimeUnit.MILLISECONDS);
+                if (chunk == null) continue;
+
+                int bytesRead = source.read(chunk.data);
+                if (bytesRead == -1) {
+                    free.add(chunk);
+                    break;
+                }
+
+                chunk.length = bytesRead;
+                chunk.offset = 0;
+
+                if (sink != null) {
+                    chunk.buffer.clear().limit(bytesRead);
+                    while (chunk.buffer.hasRemaining()) {
+                        sink.write(chunk.buffer);
+                    }
+                }
+
+                if (check != null) {
+                    check.update(chunk.data, 0, bytesRead);
+                }
+
+                filled.put(chunk);
+
+                total += bytesRead;
+                progress.onProgress(phase, total, fileSize);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Without this the reader would see a clean end of a truncated stream
+            producerError = e;
+        } catch (InterruptedException e) {
+            producerError = new IOException("Download interrupted", e);
+            Thread.currentThread().interrupt();
+        } finally {
+            filled.offer(END_OF_STREAM);
+        }
+        return total;
+    }
+
+    /**
+     * Stops the producer. Safe to call from either side.
+     */
+    void close() {
+        closed = true;
+        filled.clear();
+        filled.offer(END_OF_STREAM);
+    }
+
+    InputStream inputStream() {
+        return new InputStream() {
+            private Chunk current;
+
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) return 0;
+
+                while (current == null || current.offset == current.length) {
+                    if (current == END_OF_STREAM) return -1;
+                    if (current != null) free.offer(current);
+
+                    try {
+                        current = filled.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Extraction interrupted", e);
+                    }
+
+                    if (current == END_OF_STREAM) {
+                        if (producerError instanceof RuntimeException) throw (RuntimeException) producerError;
+                        if (producerError != null) throw (IOException) producerError;
+                        return -1;
+                    }
+                }
+
+                int count = Math.min(len, current.length - current.offset);
+                System.arraycopy(current.data, current.offset, b, off, count);
+                current.offset += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+                BoundedPipe.this.close();
+            }
+        };
+    }
+
+    private static class Chunk {
+        final byte[] data;
+        final ByteBuffer buffer;
+        int length;
+        int offset;
+
+        Chunk(int size) {
+            this.data = new byte[size];
+            this.buffer = ByteBuffer.wrap(data);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One unit of work queued on the {@link DownloadManager}. Pause and cancel
+ * take effect at the next progress report, which is where every download
+ * and extraction loop checks in. A paused job is stopped and queued again,
+ * so its task must be safe to run more than once.
+ */
+public class DownloadJob {
+
+    public enum Priority {
+        // The user is waiting on it
+        INTERACTIVE,
+        NORMAL,
+        BACKGROUND
+    }
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        PAUSED,
+        COMPLETED,
+        FAILED,
+        CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        boolean run(ProgressListener progress) throws Exception;
+    }
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    final long sequence = SEQUENCE.incrementAndGet();
+    final String host;
+    final Task task;
+    private final String name;
+    private final Priority priority;
+    private final ProgressListener listener;
+    private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+    volatile State state = State.QUEUED;
+    volatile boolean pauseRequested;
+    volatile boolean cancelRequested;
+    // The task was stopped by a pause rather than by failing; it runs again on resume
+    volatile boolean stoppedByPause;
+    Thread worker;
+
+    private volatile String phase = "Queued";
+    private volatile String message;
+    private volatile long done;
+    private volatile long total;
+
+    DownloadJob(String name, String host, Priority priority, ProgressListener listener, Task task) {
+        this.name = name;
+        this.host = host;
+        this.priority = priority;
+        this.listener = listener;
+        this.task = task;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public long getDone() {
+        return done;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Completes with the task's result once the job has finished; false if
+     * it failed or was cancelled.
+     */
+    public CompletableFuture<Boolean> result() {
+        return result;
+    }
+
+    public void pause() {
+        DownloadManager.pause(this);
+    }
+
+    public void resume() {
+        DownloadManager.resume(this);
+    }
+
+    public void cancel() {
+        DownloadManager.cancel(this);
+    }
+
+    /**
+     * The listener handed to the task: records progress for the job list,
+     * forwards it to the caller's listener and stops the task when it is
+     * paused or cancelled.
+     */
+    ProgressListener checkpointListener() {
+        return new ProgressListener() {
+            @Override
+            public void onProgress(String phase, long done, long total) {
+                checkpoint();
+                DownloadJob.this.phase = phase;
+                DownloadJob.this.done = done;
+                DownloadJob.this.total = total;
+                listener.onProgress(phase, done, total);
+            }
+
+            @Override
+            public void onStatus(String message) {
+                DownloadJob.this.message = message;
+                listener.onStatus(message);
+            }
+        };
+    }
+
+    private void checkpoint() {
+        if (cancelRequested) {
+            throw new CancellationException("Download cancelled");
+        }
+        if (pauseRequested) {
+            stoppedByPause = true;
+            throw new CancellationException("Download paused");
+        }
+    }
+
+    void finish(State finalState, boolean success) {
+        state = finalState;
+        if (finalState == State.CANCELLED) {
+            phase = "Cancelled";
+        }
+        result.complete(success);
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every download in the application. Jobs start in priority order,
+ * subject to a global limit and a per-host limit; interactive jobs get a few
+ * extra slots so a script install never waits behind a server package.
+ */
+public class DownloadManager {
+
+    private static final int MAX_CONCURRENT = 3;
+    private static final int MAX_PER_HOST = 2;
+    private static final int INTERACTIVE_RESERVE = 2;
+
+    private static final List<DownloadJob> jobs = new ArrayList<>();
+    private static final TreeSet<DownloadJob> pending = new TreeSet<>(
+            Comparator.comparing(DownloadJob::getPriority).thenComparingLong(job -> job.sequence));
+    private static final Map<String, Integer> runningPerHost = new HashMap<>();
+    private static final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private static int running;
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "download-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Queues a job.
+     *
+     * @param url      the resource it fetches, used for the per-host limit
+     * @param progress receives the task's progress; it is called on worker threads
+     */
+    public static DownloadJob submit(String name, String url, DownloadJob.Priority priority,
+                                     ProgressListener progress, DownloadJob.Task task) {
+        DownloadJob job = new DownloadJob(name, hostOf(url), priority, progress, task);
+        synchronized (DownloadManager.class) {
+            jobs.add(job);
+            pending.add(job);
+            dispatch();
+        }
+        fireChanged();
+        return job;
+    }
+
+    /**
+     * A snapshot of all jobs still listed, in submission order.
+     */
+    public static synchronized List<DownloadJob> getJobs() {
+        return new ArrayList<>(jobs);
+    }
+
+    public static void clearFinished() {
+        synchronized (DownloadManager.class) {
+            jobs.removeIf(job -> job.getState().isFinished());
+        }
+        fireChanged();
+    }
+
+    /**
+     * Called whenever a job is added, removed or changes state. Progress
+     * updates are not announced; poll the jobs for those.
+     */
+    public static void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops a running job and puts it back in the queue, releasing its slot
+     * and connections; when resumed it starts over, and downloads pick up
+     * from their partial file. A queued job simply isn't started.
+     */
+    static void pause(DownloadJob job) {
+        synchronized (DownloadManager.class) {
+            if (job.getState().isFinished()) return;
+            job.pauseRequested = true;
+            job.state = DownloadJob.State.PAUSED;
+
+            if (job.worker != null) {
+                job.stoppedByPause = true;
+                // Unblocks network reads; the task stops at its next checkpoint
+                job.worker.interrupt();
+            }
+        }
+        fireChanged();
+    }
+
+    static void resume(DownloadJob job) {
+        synchronized (DownloadManager.class) {
+            if (!job.pauseRequested) return;
+            job.pauseRequested = false;
+            // A job still winding down from the pause is requeued when it has stopped
+            if (job.worker == null) {
+                job.state = DownloadJob.State.QUEUED;
+                dispatch();
+            }
+        }
+        fireChanged();
+    }
+
+    static void cancel(DownloadJob job) {
+        synchronized (DownloadManager.class) {
+            if (job.getState().isFinished()) return;
+            job.cancelRequested = true;
+
+            if (pending.remove(job)) {
+                job.finish(DownloadJob.State.CANCELLED, false);
+            } else if (job.worker != null) {
+                // Unblocks network reads; the task notices at its next checkpoint
+                job.worker.interrupt();
+            }
+        }
+        fireChanged();
+    }
+
+    private static void dispatch() {
+        for (Iterator<DownloadJob> iterator = pending.iterator(); iterator.hasNext(); ) {
+            DownloadJob job = iterator.next();
+            if (job.pauseRequested) continue;
+
+            int limit = job.getPriority() == DownloadJob.Priority.INTERACTIVE
+                    ? MAX_CONCURRENT + INTERACTIVE_RESERVE : MAX_CONCURRENT;
+            if (running >= limit) continue;
+            if (runningPerHost.getOrDefault(job.host, 0) >= MAX_PER_HOST) continue;
+
+            iterator.remove();
+            running++;
+            runningPerHost.merge(job.host, 1, Integer::sum);
+            job.state = DownloadJob.State.RUNNING;
+            executor.execute(() -> run(job));
+        }
+    }
+
+    private static void run(DownloadJob job) {
+        synchronized (DownloadManager.class) {
+            job.worker = Thread.currentThread();
+            job.stoppedByPause = false;
+        }
+        fireChanged();
+
+        DownloadJob.State finalState;
+        boolean success = false;
+        try {
+            success = job.task.run(job.checkpointListener());
+            finalState = success ? DownloadJob.State.COMPLETED : DownloadJob.State.FAILED;
+        } catch (Exception e) {
+            finalState = DownloadJob.State.FAILED;
+            job.checkpointListener().onStatus("Error: " + e.getMessage());
+        }
+
+        boolean requeued = false;
+        synchronized (DownloadManager.class) {
+            // Services report a cancelled or paused job as an ordinary failure
+            if (job.cancelRequested) {
+                finalState = DownloadJob.State.CANCELLED;
+                success = false;
+            } else if (job.stoppedByPause && !success) {
+                job.stoppedByPause = false;
+                job.state = job.pauseRequested ? DownloadJob.State.PAUSED : DownloadJob.State.QUEUED;
+                pending.add(job);
+                requeued = true;
+            }
+
+            job.worker = null;
+            running--;
+            runningPerHost.merge(job.host, -1, Integer::sum);
+            runningPerHost.remove(job.host, 0);
+            dispatch();
+        }
+
+        // Clear a pending cancel or pause interrupt so it can't leak into the next job on this thread
+        Thread.interrupted();
+        if (!requeued) {
+            job.finish(finalState, success);
+        }
+        fireChanged();
+    }
+
+    private static void fireChanged() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host : url;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+}
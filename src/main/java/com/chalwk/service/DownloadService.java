@@ -11,48 +11,232 @@ package com.chalwk.service;
 
 import com.chalwk.model.ServerType;
 
-import javax.swing.*;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.InputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.*;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipInputStream;
 
 public class DownloadService {
 
-    public static boolean downloadAndExtract(ServerType serverType, File targetDir,
-                                             JProgressBar progressBar, JLabel statusLabel) {
+    // 64 x 64 KB between the network and the decompressor
+    private static final int PIPE_CHUNKS = 64;
+    private static final int PIPE_CHUNK_SIZE = 64 * 1024;
+    private static final String STREAM_PHASE = "Downloading & extracting";
+    private static final String STAGING_DIR_NAME = ".extract-staging";
+
+    /**
+     * @param streamExtract extract while downloading instead of downloading the archive first
+     * @param incremental   only rewrite files that differ from what is already installed
+     */
+    public static boolean downloadAndExtract(ServerType serverType, File targetDir, boolean streamExtract,
+                                             boolean incremental, ProgressListener progress) {
         try {
             String downloadUrl = serverType.getDownloadUrl();
-            String fileName = serverType.getFolderName() + ".zip";
-            File zipFile = new File(targetDir, fileName);
 
-            // Download the file
-            if (!downloadFile(downloadUrl, zipFile, progressBar, statusLabel)) {
-                return false;
+            // A package validated within the freshness window was verified when it was
+            // stored (its blob is named after its SHA-256), so it needs no network at all.
+            // Otherwise fetch the published checksum while the cache revalidates its copy;
+            // without one we still catch truncation and corrupt entries.
+            boolean fresh = ArtifactCache.isFresh(downloadUrl);
+            CompletableFuture<String> publishedSha256 = fresh ? null : IntegrityCheck.publishedSha256Async(downloadUrl);
+
+            // Reuse a package we already fetched; this skips the download entirely
+            File archive = ArtifactCache.lookup(downloadUrl);
+            String expectedSha256 = null;
+            if (archive == null || !fresh) {
+                if (publishedSha256 == null) {
+                    publishedSha256 = IntegrityCheck.publishedSha256Async(downloadUrl);
+                }
+                expectedSha256 = publishedSha256.join();
+                if (archive != null && !ArtifactCache.hasSha256(archive, expectedSha256)) {
+                    archive = null;
+                }
+            }
+            if (archive != null) {
+                progress.onStatus("Using cached " + serverType.getFolderName() + " package...");
             }
 
-            // Extract the file
-            if (!extractZipFile(zipFile, targetDir, progressBar, statusLabel)) {
-                return false;
+            // A partial download from an earlier attempt is cheaper to resume than to stream again,
+            // and a reinstall only needs to touch what changed, which streaming can't tell
+            boolean reinstall = incremental && new File(targetDir, serverType.getFolderName()).isDirectory();
+            boolean extracted = archive == null && streamExtract && !reinstall &&
+                    !ArtifactCache.hasPartialDownload(downloadUrl) &&
+                    streamAndExtract(downloadUrl, expectedSha256, targetDir, progress);
+
+            if (!extracted) {
+                if (archive == null) {
+                    // Download the file
+                    archive = downloadFile(downloadUrl, expectedSha256, progress);
+                    if (archive == null) {
+                        return false;
+                    }
+                }
+
+                // Extract the file
+                if (!extractZipFile(archive, targetDir, incremental, progress)) {
+                    return false;
+                }
             }
 
             // Create missing directory structure (empty folders that aren't in ZIP)
             createMissingDirectories(serverType, targetDir);
 
-            // Delete the zip file after extraction
-            Files.deleteIfExists(zipFile.toPath());
+            return true;
+
+        } catch (Exception e) {
+            progress.onStatus("Error: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Feeds the HTTP response straight into the extractor without writing the
+     * ZIP to disk first; a copy goes to the artifact cache as it streams by.
+     * Files are extracted into a staging directory and only moved into place
+     * once the whole archive has been verified.
+     * Returns false when the caller should fall back to downloading the
+     * archive first, e.g. when an entry can only be read through the central
+     * directory.
+     */
+    private static boolean streamAndExtract(String fileURL, String expectedSha256, File outputDir,
+                                            ProgressListener progress) {
+        BoundedPipe pipe = new BoundedPipe(PIPE_CHUNKS, PIPE_CHUNK_SIZE);
+        IntegrityCheck check = new IntegrityCheck(expectedSha256);
+        File stagingDir = new File(outputDir, STAGING_DIR_NAME);
+        InputStream networkStream = null;
+        File cacheCopy = null;
+
+        try {
+            HttpResponse<InputStream> response = HttpTransport.send(HttpTransport.request(fileURL).build());
+            networkStream = response.body();
+
+            if (response.statusCode() != 200) {
+                return false;
+            }
+
+            long fileSize = HttpTransport.contentLength(response);
+            String etag = HttpTransport.header(response, "ETag");
+            String lastModified = HttpTransport.header(response, "Last-Modified");
+            InputStream body = networkStream;
+            cacheCopy = ArtifactCache.stagingFile(fileURL);
+
+            try (FileChannel cacheChannel = FileChannel.open(cacheCopy.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+                FutureTask<Long> producer = new FutureTask<>(() ->
+                        pipe.pump(body, cacheChannel, check, STREAM_PHASE, progress, fileSize));
+
+                Thread producerThread = new Thread(producer, "download-pipe");
+                producerThread.setDaemon(true);
+                producerThread.start();
+
+                deleteRecursively(stagingDir);
+                try (InputStream pipeStream = pipe.inputStream()) {
+                    extractZipStream(pipeStream, stagingDir);
+
+                    // Read past the central directory so the whole response is accounted for
+                    pipeStream.transferTo(OutputStream.nullOutputStream());
+                }
+
+                producer.get();
+                if (fileSize > 0) {
+                    check.setExpectedLength(fileSize);
+                }
+                check.verify();
+            }
+
+            moveIntoPlace(stagingDir, outputDir);
 
+            try {
+                ArtifactCache.store(fileURL, cacheCopy, check.getSha256(), etag, lastModified);
+            } catch (IOException e) {
+                // The install itself succeeded; we just won't have it cached
+                System.err.println("Failed to cache " + fileURL + ": " + e.getMessage());
+            }
+
+            progress.onStatus("Extraction completed successfully!");
             return true;
 
+        } catch (CancellationException e) {
+            // Paused or cancelled; falling back would start new requests for it
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Download interrupted");
+        } catch (ZipException e) {
+            progress.onStatus("Archive can't be streamed, downloading it first...");
+            return false;
         } catch (Exception e) {
-            SwingUtilities.invokeLater(() ->
-                    statusLabel.setText("Error: " + e.getMessage()));
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Download interrupted");
+            }
+            progress.onStatus("Streaming failed (" + e.getMessage() + "), downloading archive first...");
             return false;
+        } finally {
+            pipe.close();
+            closeQuietly(networkStream);
+            deleteRecursively(stagingDir);
+            // Still there unless the cache took it; eviction never sees staging files
+            if (cacheCopy != null) {
+                try {
+                    Files.deleteIfExists(cacheCopy.toPath());
+                } catch (IOException e) {
+                    System.err.println("Failed to clean up " + cacheCopy + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves everything under {@code stagingDir} to the same relative path
+     * under {@code outputDir}. Both live on the same volume, so each move is a rename.
+     */
+    private static void moveIntoPlace(File stagingDir, File outputDir) throws IOException {
+        Path source = stagingDir.toPath();
+        Path target = outputDir.toPath();
+
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.equals(source)) continue;
+
+                Path destination = target.resolve(source.relativize(path));
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(destination);
+                } else {
+                    Files.move(path, destination, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        if (stream == null) return;
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    private static void deleteRecursively(File directory) {
+        if (!directory.exists()) return;
+
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            // Children before parents
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("Failed to clean up " + directory + ": " + e.getMessage());
         }
     }
 
@@ -78,97 +262,56 @@ public class DownloadService {
         new File(serverDir, "cg").mkdirs();
     }
 
-    private static boolean downloadFile(String fileURL, File outputFile,
-                                        JProgressBar progressBar, JLabel statusLabel) {
+    private static File downloadFile(String fileURL, String expectedSha256, ProgressListener progress) {
         try {
-            URL url = new URL(fileURL);
-            HttpURLConnection httpConn = (HttpURLConnection) url.openConnection();
-            int responseCode = httpConn.getResponseCode();
-
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                SwingUtilities.invokeLater(() ->
-                        statusLabel.setText("Download failed. Server returned HTTP code: " + responseCode));
-                return false;
-            }
-
-            long fileSize = httpConn.getContentLengthLong();
-
-            try (InputStream inputStream = httpConn.getInputStream();
-                 FileOutputStream outputStream = new FileOutputStream(outputFile)) {
-
-                byte[] buffer = new byte[4096];
-                long totalBytesRead = 0;
-                int bytesRead;
-
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                    totalBytesRead += bytesRead;
-
-                    // Create effectively final copies for use in lambda
-                    final long currentTotal = totalBytesRead;
-                    final long currentFileSize = fileSize;
-
-                    SwingUtilities.invokeLater(() -> {
-                        int progress = (int) ((currentTotal * 100) / currentFileSize);
-                        progressBar.setValue(progress);
-                        statusLabel.setText(String.format("Downloading: %d%% (%d/%d KB)",
-                                progress, currentTotal / 1024, currentFileSize / 1024));
-                    });
-                }
-            }
+            return ArtifactCache.download(fileURL, expectedSha256, progress);
+        } catch (Exception e) {
+            progress.onStatus("Download error: " + e.getMessage());
+            return null;
+        }
+    }
 
-            httpConn.disconnect();
+    private static boolean extractZipFile(File zipFile, File outputDir, boolean incremental,
+                                          ProgressListener progress) {
+        try {
+            ParallelZipExtractor.Summary summary = ParallelZipExtractor.extract(zipFile, outputDir, incremental, progress);
+            progress.onStatus(String.format("Extraction completed: %d written, %d unchanged, %d removed",
+                    summary.getFilesWritten(), summary.getFilesSkipped(), summary.getFilesRemoved()));
             return true;
-
         } catch (Exception e) {
-            SwingUtilities.invokeLater(() ->
-                    statusLabel.setText("Download error: " + e.getMessage()));
+            progress.onStatus("Extraction error: " + e.getMessage());
             return false;
         }
     }
 
-    private static boolean extractZipFile(File zipFile, File outputDir,
-                                          JProgressBar progressBar, JLabel statusLabel) {
-        try (ZipInputStream zipIn = new ZipInputStream(new FileInputStream(zipFile))) {
-            ZipEntry entry;
-            byte[] buffer = new byte[4096];
-
-            while ((entry = zipIn.getNextEntry()) != null) {
-                // Create effectively final copy for use in lambda
-                final String currentEntryName = entry.getName();
-                File filePath = new File(outputDir, currentEntryName);
-
-                if (!entry.isDirectory()) {
-                    Files.createDirectories(filePath.getParentFile().toPath());
-
-                    try (FileOutputStream fos = new FileOutputStream(filePath)) {
-                        int bytesRead;
-                        while ((bytesRead = zipIn.read(buffer)) != -1) {
-                            fos.write(buffer, 0, bytesRead);
-                        }
-                    }
-
-                    SwingUtilities.invokeLater(() ->
-                            statusLabel.setText("Extracting: " + currentEntryName));
-                } else {
-                    // Create directory entries
-                    Files.createDirectories(filePath.toPath());
-                }
-
-                zipIn.closeEntry();
+    private static void extractZipStream(InputStream inputStream, File outputDir) throws IOException {
+        // ZipInputStream checks each entry's CRC-32 as it inflates it
+        ZipInputStream zipIn = new ZipInputStream(inputStream);
+        Path outputPath = outputDir.toPath().toAbsolutePath().normalize();
+        ZipEntry entry;
+        byte[] buffer = new byte[PIPE_CHUNK_SIZE];
+
+        while ((entry = zipIn.getNextEntry()) != null) {
+            File filePath = outputPath.resolve(entry.getName()).normalize().toFile();
+            if (!filePath.toPath().startsWith(outputPath)) {
+                throw new IOException("Archive entry escapes the target directory: " + entry.getName());
             }
 
-            SwingUtilities.invokeLater(() -> {
-                progressBar.setValue(100);
-                statusLabel.setText("Extraction completed successfully!");
-            });
+            if (!entry.isDirectory()) {
+                Files.createDirectories(filePath.getParentFile().toPath());
 
-            return true;
+                try (FileOutputStream fos = new FileOutputStream(filePath)) {
+                    int bytesRead;
+                    while ((bytesRead = zipIn.read(buffer)) != -1) {
+                        fos.write(buffer, 0, bytesRead);
+                    }
+                }
+            } else {
+                // Create directory entries
+                Files.createDirectories(filePath.toPath());
+            }
 
-        } catch (Exception e) {
-            SwingUtilities.invokeLater(() ->
-                    statusLabel.setText("Extraction error: " + e.getMessage()));
-            return false;
+            zipIn.closeEntry();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,183 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Sidecar for a {@code .part} download: the resource validators plus how far
+ * each byte range has been written.
+ */
+class DownloadState {
+
+    private static final long SAVE_INTERVAL_MS = 2000;
+
+    final long fileSize;
+    final List<Segment> segments;
+    private final File stateFile;
+    private final String url;
+    private final String etag;
+    private final String lastModified;
+    private long lastSaved;
+
+    private DownloadState(File stateFile, String url, long fileSize, String etag,
+                          String lastModified, List<Segment> segments) {
+        this.stateFile = stateFile;
+        this.url = url;
+        this.fileSize = fileSize;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.segments = Collections.unmodifiableList(segments);
+        this.lastSaved = System.currentTimeMillis();
+    }
+
+    static DownloadState create(File stateFile, String url, long fileSize, String etag,
+                                String lastModified, int segmentCount) {
+        List<Segment> segments = new ArrayList<>(segmentCount);
+        long segmentSize = fileSize / segmentCount;
+
+        for (int i = 0; i < segmentCount; i++) {
+            long start = i * segmentSize;
+            long end = (i == segmentCount - 1) ? fileSize - 1 : start + segmentSize - 1;
+            segments.add(new Segment(start, end, start));
+        }
+
+        return new DownloadState(stateFile, url, fileSize, etag, lastModified, segments);
+    }
+
+    static DownloadState load(File stateFile, String url) {
+        if (!stateFile.exists()) return null;
+
+        Properties prop = new Properties();
+        try (InputStream input = new FileInputStream(stateFile)) {
+            prop.load(input);
+        } catch (IOException e) {
+            return null;
+        }
+
+        if (!url.equals(prop.getProperty("url"))) return null;
+
+        try {
+            long fileSize = Long.parseLong(prop.getProperty("length"));
+            int count = Integer.parseInt(prop.getProperty("segments"));
+            List<Segment> segments = new ArrayList<>(count);
+
+            // segment.N = start,end,next  (bytes start..next-1 are on disk)
+            for (int i = 0; i < count; i++) {
+                String[] parts = prop.getProperty("segment." + i).split(",");
+                segments.add(new Segment(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            }
+
+            return new DownloadState(stateFile, url, fileSize,
+                    prop.getProperty("etag"), prop.getProperty("lastModified"), segments);
+        } catch (RuntimeException e) {
+            // Corrupt or truncated sidecar; start over
+            return null;
+        }
+    }
+
+    boolean matches(long fileSize, String etag, String lastModified) {
+        return validator() != null &&
+                this.fileSize == fileSize &&
+                Objects.equals(this.etag, etag) &&
+                Objects.equals(this.lastModified, lastModified);
+    }
+
+    /**
+     * The value to send in {@code If-Range}: a strong ETag if we have one,
+     * otherwise the Last-Modified date. Null means the download can't be resumed safely.
+     */
+    String validator() {
+        if (etag != null && !etag.startsWith("W/")) return etag;
+        return lastModified;
+    }
+
+    long completedBytes() {
+        long total = 0;
+        for (Segment segment : segments) {
+            total += segment.next - segment.start;
+        }
+        return total;
+    }
+
+    /**
+     * Length of the prefix of the file that is fully on disk.
+     */
+    long contiguousBytes() {
+        for (Segment segment : segments) {
+            if (!segment.isComplete()) return segment.next;
+        }
+        return fileSize;
+    }
+
+    void saveIfDue(FileChannel channel) {
+        if (System.currentTimeMillis() - lastSaved >= SAVE_INTERVAL_MS) {
+            save(channel);
+        }
+    }
+
+    synchronized void save(FileChannel channel) {
+        lastSaved = System.currentTimeMillis();
+        if (validator() == null) return;
+
+        // Snapshot positions first; anything written after this is simply re-fetched on resume
+        long[] positions = new long[segments.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = segments.get(i).next;
+        }
+
+        try {
+            // Make sure the bytes we are about to vouch for are actually on disk
+            channel.force(false);
+        } catch (IOException e) {
+            return;
+        }
+
+        Properties prop = new Properties();
+        prop.setProperty("url", url);
+        prop.setProperty("length", String.valueOf(fileSize));
+        if (etag != null) prop.setProperty("etag", etag);
+        if (lastModified != null) prop.setProperty("lastModified", lastModified);
+        prop.setProperty("segments", String.valueOf(segments.size()));
+
+        for (int i = 0; i < positions.length; i++) {
+            Segment segment = segments.get(i);
+            prop.setProperty("segment." + i, segment.start + "," + segment.end + "," + positions[i]);
+        }
+
+        try (OutputStream output = new FileOutputStream(stateFile)) {
+            prop.store(output, "Halo Server Manager partial download");
+        } catch (IOException e) {
+            System.err.println("Failed to save download state: " + e.getMessage());
+        }
+    }
+
+    static class Segment {
+        final long start;
+        final long end;
+        volatile long next;
+
+        Segment(long start, long end, long next) {
+            this.start = start;
+            this.end = end;
+            this.next = next;
+        }
+
+        boolean isComplete() {
+            return next > end;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.*;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the size, modification time and CRC-32 of every file extracted
+ * into a directory, so a later extraction can tell unchanged files apart
+ * without reading them.
+ */
+class ExtractionIndex {
+
+    private static final String FILE_NAME = ".extract-index.properties";
+
+    private final File indexFile;
+    private final Map<String, Record> records = new ConcurrentHashMap<>();
+
+    private ExtractionIndex(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    static ExtractionIndex load(File outputDir) {
+        ExtractionIndex index = new ExtractionIndex(new File(outputDir, FILE_NAME));
+
+        Properties prop = new Properties();
+        try (InputStream input = new FileInputStream(index.indexFile)) {
+            prop.load(input);
+        } catch (IOException e) {
+            // Nothing extracted here yet
+            return index;
+        }
+
+        // entry path = size,modified,crc
+        for (String name : prop.stringPropertyNames()) {
+            try {
+                String[] parts = prop.getProperty(name).split(",");
+                index.records.put(name, new Record(Long.parseLong(parts[0]),
+                        Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+            } catch (RuntimeException e) {
+                // Skip damaged records; those files are simply compared by content
+            }
+        }
+        return index;
+    }
+
+    Record get(String name) {
+        return records.get(name);
+    }
+
+    void put(String name, long size, long modified, long crc) {
+        records.put(name, new Record(size, modified, crc));
+    }
+
+    void remove(String name) {
+        records.remove(name);
+    }
+
+    Set<String> names() {
+        return records.keySet();
+    }
+
+    void save() {
+        Properties prop = new Properties();
+        for (Map.Entry<String, Record> entry : records.entrySet()) {
+            Record record = entry.getValue();
+            prop.setProperty(entry.getKey(), record.size + "," + record.modified + "," + record.crc);
+        }
+
+        try (OutputStream output = new FileOutputStream(indexFile)) {
+            prop.store(output, "Halo Server Manager extracted files");
+        } catch (IOException e) {
+            System.err.println("Failed to save extraction index: " + e.getMessage());
+        }
+    }
+
+    static class Record {
+        final long size;
+        final long modified;
+        final long crc;
+
+        Record(long size, long modified, long crc) {
+            this.size = size;
+            this.modified = modified;
+            this.crc = crc;
+        }
+
+        boolean matches(long size, long modified) {
+            return this.size == size && this.modified == modified;
+        }
+    }
+}
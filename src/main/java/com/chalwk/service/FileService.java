@@ -13,39 +13,61 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.TreePath;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class FileService {
 
-    public static DefaultMutableTreeNode createFileTree(File rootDir) {
-        DefaultMutableTreeNode root = new DefaultMutableTreeNode(rootDir.getName());
-
-        if (rootDir.exists() && rootDir.isDirectory()) {
-            addFilesToTree(root, rootDir);
+    // Below this, reading attributes in parallel costs more than it saves
+    private static final int PARALLEL_LISTING_THRESHOLD = 2048;
+
+    // Sort files: directories first, then files
+    private static final Comparator<FileNode> LISTING_ORDER = Comparator
+            .comparing((FileNode node) -> !node.isDirectory())
+            .thenComparing(node -> node.getFile().getName(), String.CASE_INSENSITIVE_ORDER);
+
+    /**
+     * Lists a directory, directories first, reading each entry's attributes
+     * exactly once. Large directories read their attributes across the
+     * common ForkJoin pool.
+     *
+     * @return the entries, or an empty list if the directory can't be read
+     */
+    public static List<FileNode> listDirectory(File directory) {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+            stream.forEach(paths::add);
+        } catch (IOException | SecurityException e) {
+            return List.of();
         }
 
-        return root;
+        Stream<Path> entries = paths.size() < PARALLEL_LISTING_THRESHOLD ? paths.stream() : paths.parallelStream();
+        return entries
+                .map(FileService::readNode)
+                .sorted(LISTING_ORDER)
+                .collect(Collectors.toList());
     }
 
-    private static void addFilesToTree(DefaultMutableTreeNode node, File dir) {
-        File[] files = dir.listFiles();
-        if (files == null) return;
-
-        // Sort files: directories first, then files
-        Arrays.sort(files, (f1, f2) -> {
-            if (f1.isDirectory() && !f2.isDirectory()) return -1;
-            if (!f1.isDirectory() && f2.isDirectory()) return 1;
-            return f1.getName().compareToIgnoreCase(f2.getName());
-        });
-
-        for (File file : files) {
-            DefaultMutableTreeNode childNode = new DefaultMutableTreeNode(new FileNode(file));
-            node.add(childNode);
+    /**
+     * A node for one file, with its attributes read once up front.
+     */
+    public static FileNode readNode(File file) {
+        return readNode(file.toPath());
+    }
 
-            if (file.isDirectory()) {
-                addFilesToTree(childNode, file);
-            }
+    private static FileNode readNode(Path path) {
+        try {
+            return new FileNode(path.toFile(), Files.readAttributes(path, BasicFileAttributes.class));
+        } catch (IOException e) {
+            // Deleted since it was listed, or a broken link
+            return new FileNode(path.toFile(), null);
         }
     }
 
@@ -85,15 +107,42 @@ public class FileService {
 
     public static class FileNode {
         private final File file;
+        private final BasicFileAttributes attributes;
 
         public FileNode(File file) {
+            this(file, null);
+        }
+
+        /**
+         * @param attributes the file's attributes as listed, or null if unknown
+         */
+        public FileNode(File file, BasicFileAttributes attributes) {
             this.file = file;
+            this.attributes = attributes;
         }
 
         public File getFile() {
             return file;
         }
 
+        public boolean isDirectory() {
+            return attributes != null ? attributes.isDirectory() : file.isDirectory();
+        }
+
+        /**
+         * The size when listed, without touching the disk; 0 if unknown.
+         */
+        public long getSize() {
+            return attributes != null ? attributes.size() : 0;
+        }
+
+        /**
+         * The modification time when listed, in milliseconds; 0 if unknown.
+         */
+        public long getLastModified() {
+            return attributes != null ? attributes.lastModifiedTime().toMillis() : 0;
+        }
+
         @Override
         public String toString() {
             return file.getName();
@@ -0,0 +1,181 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The one HTTP client every service goes through. Sharing it means requests
+ * to the same host reuse pooled connections instead of paying a TLS
+ * handshake each time.
+ * <p>
+ * Binary downloads use {@link #request}, pinned to HTTP/1.1: over HTTP/2 the
+ * client would multiplex every request to a host onto one connection, so
+ * parallel range segments and per-host download slots would all share one
+ * TCP stream. Text fetches use {@link #textRequest}, which negotiates HTTP/2
+ * and gzip; those small requests gain from sharing a connection.
+ */
+public class HttpTransport {
+
+    private static final String USER_AGENT = "HaloServerManager";
+
+    private static Duration connectTimeout = Duration.ofSeconds(15);
+    private static Duration requestTimeout = Duration.ofSeconds(30);
+    private static HttpClient client;
+
+    /**
+     * @param connect time allowed to open a connection
+     * @param request time allowed until response headers arrive
+     */
+    public static synchronized void setTimeouts(Duration connect, Duration request) {
+        connectTimeout = connect;
+        requestTimeout = request;
+        // Picked up by the next request; connections already open stay with the old client
+        client = null;
+    }
+
+    public static synchronized HttpClient client() {
+        if (client == null) {
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "http-transport");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .connectTimeout(connectTimeout)
+                    .executor(executor)
+                    .build();
+        }
+        return client;
+    }
+
+    /**
+     * A GET request for binary content, sent without {@code Accept-Encoding}
+     * so lengths and byte ranges refer to the file itself, over a connection
+     * of its own.
+     */
+    public static HttpRequest.Builder request(String url) {
+        return request(URI.create(url));
+    }
+
+    public static synchronized HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .version(HttpClient.Version.HTTP_1_1)
+                .header("User-Agent", USER_AGENT)
+                .timeout(requestTimeout)
+                .GET();
+    }
+
+    /**
+     * A GET request for text content that accepts a gzip-compressed response.
+     * Read its body through {@link #body}.
+     */
+    public static HttpRequest.Builder textRequest(String url) {
+        return request(url)
+                .version(HttpClient.Version.HTTP_2)
+                .header("Accept-Encoding", "gzip");
+    }
+
+    public static HttpResponse<InputStream> send(HttpRequest request) throws IOException {
+        try {
+            return client().send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request interrupted: " + request.uri());
+        }
+    }
+
+    public static CompletableFuture<HttpResponse<InputStream>> sendAsync(HttpRequest request) {
+        return client().sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * Fetches a text resource, failing on any status other than 200.
+     */
+    public static CompletableFuture<String> getStringAsync(HttpRequest request) {
+        return sendAsync(request).thenApply(response -> {
+            try (InputStream input = body(response)) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode() + " from " + request.uri());
+                }
+                return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    public static String getString(HttpRequest request) throws IOException {
+        try {
+            return getStringAsync(request).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * The response body with any gzip content encoding removed.
+     */
+    public static InputStream body(HttpResponse<InputStream> response) throws IOException {
+        return body(response, response.body());
+    }
+
+    /**
+     * Decodes {@code rawBody} according to the response's content encoding;
+     * lets callers observe the bytes as they came off the wire.
+     */
+    public static InputStream body(HttpResponse<?> response, InputStream rawBody) throws IOException {
+        if ("gzip".equalsIgnoreCase(header(response, "Content-Encoding"))) {
+            return new GZIPInputStream(rawBody, 64 * 1024);
+        }
+        return rawBody;
+    }
+
+    public static String header(HttpResponse<?> response, String name) {
+        return response.headers().firstValue(name).orElse(null);
+    }
+
+    /**
+     * @return the Content-Length of the response, or -1 when it isn't known
+     */
+    public static long contentLength(HttpResponse<?> response) {
+        return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+    }
+
+    /**
+     * Discards the body so the connection can be reused.
+     */
+    public static void discard(HttpResponse<InputStream> response) {
+        try (InputStream input = response.body()) {
+            input.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException ignored) {
+            // The connection is simply not reused
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SHA-256 and length check computed while data is being copied. A single
+ * stream is verified without reading anything back.
+ * <p>
+ * Bytes must be fed in file order, and SHA-256 can't be split into parts
+ * hashed separately. Parallel writers use the positional
+ * {@link #update(long, byte[], int, int)}, which only accepts the chunk that
+ * continues the digest; the rest is picked up by {@link #catchUp}, which
+ * reads it back from the file. With N segments that is roughly (N-1)/N of
+ * the file read a second time, usually from the page cache since the
+ * segment was just written, but still a second pass over those bytes.
+ */
+public class IntegrityCheck {
+
+    private static final Pattern RELEASE_URL = Pattern.compile(
+            "https://github\\.com/([^/]+)/([^/]+)/releases/download/([^/]+)/([^/?#]+)");
+
+    private final MessageDigest digest;
+    private final String expectedSha256;
+    private long expectedLength = -1;
+    private long position;
+    private String sha256;
+
+    public IntegrityCheck(String expectedSha256) {
+        this.expectedSha256 = expectedSha256 == null ? null : expectedSha256.toLowerCase();
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Looks up the SHA-256 GitHub publishes for a release asset. Completes
+     * with null for other URLs or when the API can't be reached.
+     */
+    public static CompletableFuture<String> publishedSha256Async(String downloadUrl) {
+        Matcher matcher = RELEASE_URL.matcher(downloadUrl);
+        if (!matcher.matches()) return CompletableFuture.completedFuture(null);
+
+        String apiUrl = "https://api.github.com/repos/" + matcher.group(1) + "/" + matcher.group(2) +
+                "/releases/tags/" + matcher.group(3);
+        String assetName = matcher.group(4);
+
+        return HttpTransport.getStringAsync(HttpTransport.textRequest(apiUrl)
+                        .header("Accept", "application/vnd.github.v3+json")
+                        .timeout(Duration.ofSeconds(10))
+                        .build())
+                .thenApply(body -> {
+                    JSONArray assets = new JSONObject(body).getJSONArray("assets");
+                    for (int i = 0; i < assets.length(); i++) {
+                        JSONObject asset = assets.getJSONObject(i);
+                        if (assetName.equals(asset.getString("name"))) {
+                            return parseDigest(asset.optString("digest", null));
+                        }
+                    }
+                    return null;
+                })
+                .exceptionally(e -> {
+                    System.err.println("Could not fetch published checksum: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * Extracts the hex value from a GitHub asset digest such as {@code "sha256:ab12..."}.
+     */
+    public static String parseDigest(String digest) {
+        if (digest == null || !digest.startsWith("sha256:")) return null;
+        return digest.substring("sha256:".length()).toLowerCase();
+    }
+
+    public void setExpectedLength(long expectedLength) {
+        this.expectedLength = expectedLength;
+    }
+
+    public synchronized void update(byte[] buffer, int offset, int length) {
+        digest.update(buffer, offset, length);
+        position += length;
+    }
+
+    /**
+     * Feeds a chunk written at {@code filePosition} if it is the next one the
+     * digest needs, and ignores it otherwise.
+     */
+    synchronized void update(long filePosition, byte[] buffer, int offset, int length) {
+        if (filePosition == position) {
+            update(buffer, offset, length);
+        }
+    }
+
+    /**
+     * Hashes bytes already written to {@code channel} up to {@code upTo}.
+     * The file is read without holding the lock, so other segments keep
+     * writing meanwhile; a chunk another thread hashed first is just skipped.
+     */
+    void catchUp(FileChannel channel, long upTo) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long from;
+        while ((from = getPosition()) < upTo) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), upTo - from));
+            int bytesRead = channel.read(buffer, from);
+            if (bytesRead <= 0) {
+                throw new IOException("Unexpected end of file while verifying download");
+            }
+            update(from, buffer.array(), 0, bytesRead);
+        }
+    }
+
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    public synchronized String getSha256() {
+        if (sha256 == null) {
+            byte[] bytes = digest.digest();
+            StringBuilder hex = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            sha256 = hex.toString();
+        }
+        return sha256;
+    }
+
+    public void verify() throws IOException {
+        long length = getPosition();
+        if (expectedLength >= 0 && length != expectedLength) {
+            throw new IOException("Download truncated: received " + length + " of " + expectedLength + " bytes");
+        }
+
+        String actual = getSha256();
+        if (expectedSha256 != null && !expectedSha256.equals(actual)) {
+            throw new IOException("Checksum mismatch: expected SHA-256 " + expectedSha256 + " but got " + actual);
+        }
+    }
+
+    /**
+     * Returns a stream that feeds everything read through it into this check.
+     */
+    public InputStream wrap(InputStream inputStream) {
+        return new FilterInputStream(inputStream) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b != -1) {
+                    update(new byte[]{(byte) b}, 0, 1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int bytesRead = super.read(b, off, len);
+                if (bytesRead > 0) {
+                    update(b, off, bytesRead);
+                }
+                return bytesRead;
+            }
+        };
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows a growing log file, like {@code tail -f}. Only bytes appended
+ * since the last read are read, from a kept {@link FileChannel} position.
+ * A {@link WatchService} on the file's directory wakes the tailer when
+ * something changes, with a slow poll as a fallback for file systems that
+ * don't report changes.
+ * <p>
+ * If the file is replaced (rotated) or shrinks (truncated), it is reopened
+ * and followed from its start. Replacement is detected by the file key, or
+ * by the creation time where the platform has no file keys (Windows).
+ */
+public class LogTailer implements Closeable {
+
+    // How much of the existing file to show when tailing starts
+    private static final int INITIAL_TAIL_BYTES = 64 * 1024;
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+    private static final long POLL_INTERVAL_SECONDS = 2;
+    // Lines per listener call, so a burst of output isn't held all at once
+    private static final int MAX_BATCH_LINES = 1000;
+
+    public interface Listener {
+        /**
+         * New complete lines, in order, without line breaks. Called on the
+         * tailer's thread.
+         */
+        void linesAppended(List<String> lines);
+
+        /**
+         * The file was rotated, truncated, deleted or recreated; following
+         * lines come from its new content.
+         */
+        void fileReset(String reason);
+    }
+
+    private final Path path;
+    private final Listener listener;
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private final ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK_SIZE);
+    private volatile boolean running = true;
+    private volatile WatchService watchService;
+    private FileChannel channel;
+    private long position;
+    private Object identity;
+
+    private LogTailer(File file, Listener listener) {
+        this.path = file.toPath().toAbsolutePath();
+        this.listener = listener;
+    }
+
+    /**
+     * Starts following {@code file} on a background thread, beginning with
+     * the last part of its current content.
+     */
+    public static LogTailer start(File file, Listener listener) {
+        LogTailer tailer = new LogTailer(file, listener);
+        Thread thread = new Thread(tailer::run, "log-tail");
+        thread.setDaemon(true);
+        thread.start();
+        return tailer;
+    }
+
+    private void run() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            // Polling alone still works
+            System.err.println("Cannot watch " + path.getParent() + ": " + e.getMessage());
+        }
+
+        try {
+            openFile(true);
+            while (running) {
+                readAppended();
+                awaitChange();
+                checkReplaced();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed
+        } finally {
+            closeChannel();
+            // In case close() ran before the watch service existed
+            close();
+        }
+    }
+
+    /**
+     * Blocks until something in the directory changes or the poll interval
+     * passes. Events for other files are simply followed by a cheap size
+     * check.
+     */
+    private void awaitChange() throws InterruptedException {
+        if (watchService == null) {
+            TimeUnit.SECONDS.sleep(POLL_INTERVAL_SECONDS);
+            return;
+        }
+        WatchKey key = watchService.poll(POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        if (key != null) {
+            key.pollEvents();
+            key.reset();
+        }
+    }
+
+    private void openFile(boolean initial) {
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            identity = identityOf(Files.readAttributes(path, BasicFileAttributes.class));
+            long size = channel.size();
+            position = initial ? Math.max(0, size - INITIAL_TAIL_BYTES) : 0;
+            partialLine.reset();
+
+            // Starting mid-file, the first line is incomplete; skip to the next one
+            if (position > 0) {
+                skipToNextLine();
+            }
+        } catch (IOException e) {
+            // Not there yet, e.g. between a rotation and the new file appearing
+            closeChannel();
+        }
+    }
+
+    private void skipToNextLine() throws IOException {
+        while (true) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) return;
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    position += i + 1;
+                    return;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private void checkReplaced() {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            if (channel != null) {
+                closeChannel();
+                listener.fileReset("File was deleted or moved");
+            }
+            return;
+        }
+
+        if (channel == null) {
+            openFile(false);
+            if (channel != null) listener.fileReset("File was created");
+        } else if (!Objects.equals(identity, identityOf(attributes))) {
+            // Pick up whatever was written to the old file before the switch
+            readAppended();
+            if (partialLine.size() > 0) {
+                listener.linesAppended(List.of(PagedTextFile.decodeLine(partialLine)));
+            }
+            closeChannel();
+            openFile(false);
+            listener.fileReset("File was rotated");
+        } else if (attributes.size() < position) {
+            closeChannel();
+            openFile(false);
+            listener.fileReset("File was truncated");
+        }
+    }
+
+    private static Object identityOf(BasicFileAttributes attributes) {
+        return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+    }
+
+    /**
+     * Reads everything appended since the last read and reports the complete
+     * lines. A trailing partial line waits for the rest of it.
+     */
+    private void readAppended() {
+        if (channel == null) return;
+
+        List<String> lines = new ArrayList<>();
+        try {
+            while (true) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) break;
+                position += read;
+
+                byte[] bytes = buffer.array();
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] == '\n') {
+                        lines.add(PagedTextFile.decodeLine(partialLine));
+                        partialLine.reset();
+                        if (lines.size() == MAX_BATCH_LINES) {
+                            listener.linesAppended(lines);
+                            lines = new ArrayList<>();
+                        }
+                    } else if (partialLine.size() < PagedTextFile.MAX_LINE_LENGTH * 4) {
+                        partialLine.write(bytes[i]);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read " + path + ": " + e.getMessage());
+        }
+
+        if (!lines.isEmpty()) {
+            listener.linesAppended(lines);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+        channel = null;
+    }
+
+    /**
+     * Stops following the file.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+}
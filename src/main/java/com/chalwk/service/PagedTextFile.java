@@ -0,0 +1,209 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only, line-addressed access to a text file of any size, for viewing
+ * logs that are too big to load into a {@code Document}.
+ * <p>
+ * {@link #buildIndex} scans the file once and records the byte offset of
+ * every {@value #CHECKPOINT_INTERVAL}th line; {@link #readLines} seeks to
+ * the nearest checkpoint and reads forward from there. Only the requested
+ * lines are ever decoded, and very long lines are cut short, so memory use
+ * depends on what is read, not on the size of the file.
+ * <p>
+ * The file is read with positional channel reads rather than mapped:
+ * Windows won't let a mapped file be truncated, renamed or deleted until
+ * the mapping is garbage collected, which would block the server from
+ * rotating the log being viewed. Everything past the size the file had
+ * when it was opened is ignored.
+ */
+public class PagedTextFile implements Closeable {
+
+    public static final int MAX_LINE_LENGTH = 2000; // characters kept per line
+
+    private static final int CHECKPOINT_INTERVAL = 64; // lines
+    private static final int INDEX_CHUNK_SIZE = 1 << 20;
+    private static final int READ_CHUNK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long size;
+
+    // Guarded by this; checkpoints[k] is where line k * CHECKPOINT_INTERVAL starts
+    private long[] checkpoints = new long[1024];
+    private int lineCount;
+    private boolean indexed;
+
+    private PagedTextFile(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    public static PagedTextFile open(File file) throws IOException {
+        return new PagedTextFile(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Lines indexed so far; all of them once {@link #isIndexed()}.
+     */
+    public synchronized int getLineCount() {
+        return lineCount;
+    }
+
+    public synchronized boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Scans the file for line breaks. Lines become readable as the scan
+     * reaches them, and {@code progress} is told the running line count after
+     * each chunk. Call once, off the EDT.
+     */
+    public void buildIndex(IntConsumer progress) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_CHUNK_SIZE);
+        long position = 0;
+        int lines = 0;
+
+        while (position < size) {
+            buffer.clear();
+            if (size - position < buffer.capacity()) {
+                buffer.limit((int) (size - position));
+            }
+            int read = channel.read(buffer, position);
+            if (read <= 0) break;
+
+            byte[] bytes = buffer.array();
+            int newLines = 0;
+            long[] found = new long[read / CHECKPOINT_INTERVAL + 1];
+            int foundCount = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    newLines++;
+                    // The next line starts after this break
+                    if ((lines + newLines) % CHECKPOINT_INTERVAL == 0) {
+                        found[foundCount++] = position + i + 1;
+                    }
+                }
+            }
+
+            position += read;
+            lines += newLines;
+            publish(found, foundCount, lines);
+            progress.accept(lines);
+        }
+
+        // A last line without a break still counts
+        boolean trailingLine = size > 0 && lastByte() != '\n';
+        synchronized (this) {
+            if (trailingLine) lineCount++;
+            indexed = true;
+        }
+        progress.accept(getLineCount());
+    }
+
+    private synchronized void publish(long[] found, int foundCount, int lines) {
+        int checkpointCount = (lineCount / CHECKPOINT_INTERVAL) + 1;
+        if (checkpointCount + foundCount > checkpoints.length) {
+            checkpoints = Arrays.copyOf(checkpoints, Math.max(checkpoints.length * 2, checkpointCount + foundCount));
+        }
+        System.arraycopy(found, 0, checkpoints, checkpointCount, foundCount);
+        lineCount = lines;
+    }
+
+    private byte lastByte() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        channel.read(buffer, size - 1);
+        return buffer.get(0);
+    }
+
+    /**
+     * Reads up to {@code count} lines starting at line {@code first}
+     * (0-based), without their line breaks. Lines longer than
+     * {@link #MAX_LINE_LENGTH} are truncated. Fewer lines are returned near
+     * the end of what has been indexed.
+     */
+    public List<String> readLines(int first, int count) throws IOException {
+        long position;
+        int available;
+        synchronized (this) {
+            if (first < 0 || first >= lineCount) return List.of();
+            position = checkpoints[first / CHECKPOINT_INTERVAL];
+            available = Math.min(count, lineCount - first);
+        }
+
+        List<String> lines = new ArrayList<>(available);
+        int skip = first % CHECKPOINT_INTERVAL;
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        // UTF-8 never needs more than four bytes per character
+        int maxBytes = MAX_LINE_LENGTH * 4;
+        ByteBuffer buffer = ByteBuffer.allocate(READ_CHUNK_SIZE);
+
+        while (lines.size() < available && position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) break;
+            position += read;
+
+            byte[] bytes = buffer.array();
+            for (int i = 0; i < read && lines.size() < available; i++) {
+                if (bytes[i] != '\n') {
+                    if (skip == 0 && line.size() < maxBytes) line.write(bytes[i]);
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    lines.add(decodeLine(line));
+                }
+                line.reset();
+            }
+        }
+
+        // The last line of the file has no break to end it
+        if (lines.size() < available && skip == 0 && position >= size) {
+            lines.add(decodeLine(line));
+        }
+        return lines;
+    }
+
+    /**
+     * Decodes one line's bytes as UTF-8, dropping a trailing CR and anything
+     * past {@link #MAX_LINE_LENGTH}.
+     */
+    static String decodeLine(ByteArrayOutputStream line) {
+        String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+        if (text.endsWith("\r")) {
+            text = text.substring(0, text.length() - 1);
+        }
+        return text.length() > MAX_LINE_LENGTH ? text.substring(0, MAX_LINE_LENGTH) : text;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
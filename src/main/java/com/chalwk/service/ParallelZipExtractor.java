@@ -0,0 +1,309 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Extracts a ZIP archive through its central directory, inflating entries in
+ * parallel. {@link ZipFile} only serialises the raw reads from the archive,
+ * so decompression and file writes scale with the pool size.
+ * <p>
+ * {@link ZipFile} does not check entry CRCs, so each entry's CRC-32 is
+ * computed as it is written and compared against the central directory.
+ * <p>
+ * In incremental mode, entries whose size and CRC-32 already match the file
+ * on disk are skipped, and files left over from a previous extraction of the
+ * same folders are removed if nobody has touched them since.
+ */
+public class ParallelZipExtractor {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_THREADS = 8;
+    private static final String PHASE = "Extracting";
+
+    public static class Summary {
+        private final int filesWritten;
+        private final int filesSkipped;
+        private final int filesRemoved;
+        private final long bytesWritten;
+
+        Summary(int filesWritten, int filesSkipped, int filesRemoved, long bytesWritten) {
+            this.filesWritten = filesWritten;
+            this.filesSkipped = filesSkipped;
+            this.filesRemoved = filesRemoved;
+            this.bytesWritten = bytesWritten;
+        }
+
+        public int getFilesWritten() {
+            return filesWritten;
+        }
+
+        public int getFilesSkipped() {
+            return filesSkipped;
+        }
+
+        public int getFilesRemoved() {
+            return filesRemoved;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+    }
+
+    /**
+     * @param incremental skip entries already on disk and remove files the archive no longer contains
+     * @param progress    receives bytes processed so far and the total uncompressed size
+     */
+    public static Summary extract(File zipFile, File outputDir, boolean incremental,
+                                  ProgressListener progress) throws IOException {
+        Path outputPath = outputDir.toPath().toAbsolutePath().normalize();
+        ExtractionIndex index = ExtractionIndex.load(outputDir);
+
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            List<ZipEntry> files = new ArrayList<>();
+            Set<Path> directories = new HashSet<>();
+            Set<String> fileNames = new HashSet<>();
+            Set<String> roots = new HashSet<>();
+            long totalSize = 0;
+
+            for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements(); ) {
+                ZipEntry entry = entries.nextElement();
+                Path target = resolveEntry(outputPath, entry.getName());
+
+                if (entry.isDirectory()) {
+                    directories.add(target);
+                } else {
+                    directories.add(target.getParent());
+                    files.add(entry);
+                    totalSize += Math.max(0, entry.getSize());
+
+                    String name = indexName(outputPath, target);
+                    fileNames.add(name);
+                    roots.add(rootOf(name));
+                }
+            }
+
+            // Create the directory skeleton up front so workers never race on mkdirs
+            for (Path directory : directories) {
+                Files.createDirectories(directory);
+            }
+
+            // Largest first so one big map doesn't end up running alone at the end
+            files.sort(Comparator.comparingLong(ZipEntry::getSize).reversed());
+
+            int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+            ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "zip-extract");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            AtomicLong processed = new AtomicLong();
+            AtomicLong written = new AtomicLong();
+            AtomicInteger filesWritten = new AtomicInteger();
+            AtomicBoolean aborted = new AtomicBoolean();
+            long finalTotalSize = totalSize;
+
+            try {
+                List<Future<?>> futures = new ArrayList<>(files.size());
+                for (ZipEntry entry : files) {
+                    futures.add(executor.submit(() -> {
+                        if (aborted.get()) return null;
+
+                        Path target = resolveEntry(outputPath, entry.getName());
+                        String name = indexName(outputPath, target);
+
+                        if (incremental && isUnchanged(entry, target, index.get(name))) {
+                            // Still record it, in case the index was missing or stale
+                            index.put(name, entry.getSize(), Files.getLastModifiedTime(target).toMillis(),
+                                    entry.getCrc());
+                            progress.onProgress(PHASE, processed.addAndGet(entry.getSize()), finalTotalSize);
+                            return null;
+                        }
+
+                        long crc = extractEntry(zip, entry, target, processed, finalTotalSize, aborted, progress);
+                        index.put(name, entry.getSize(), Files.getLastModifiedTime(target).toMillis(), crc);
+                        written.addAndGet(entry.getSize());
+                        filesWritten.incrementAndGet();
+                        return null;
+                    }));
+                }
+
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                aborted.set(true);
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                throw new IOException("Extraction failed: " + cause.getMessage(), cause);
+            } catch (InterruptedException e) {
+                aborted.set(true);
+                Thread.currentThread().interrupt();
+                throw new IOException("Extraction interrupted", e);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            int filesRemoved = incremental ? removeStaleFiles(outputPath, index, fileNames, roots) : 0;
+            index.save();
+
+            return new Summary(filesWritten.get(), files.size() - filesWritten.get(), filesRemoved, written.get());
+        }
+    }
+
+    /**
+     * True when the file on disk already holds the entry's contents. The index
+     * answers this without reading the file unless the file was modified
+     * since it was recorded.
+     */
+    private static boolean isUnchanged(ZipEntry entry, Path target, ExtractionIndex.Record record) throws IOException {
+        if (entry.getCrc() == -1 || entry.getSize() < 0) return false;
+
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(target, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        if (!attributes.isRegularFile() || attributes.size() != entry.getSize()) return false;
+
+        if (record != null && record.matches(attributes.size(), attributes.lastModifiedTime().toMillis())) {
+            return record.crc == entry.getCrc();
+        }
+
+        // Unknown or modified since we wrote it; reading is still far cheaper than rewriting
+        CRC32 crc = new CRC32();
+        try (InputStream inputStream = Files.newInputStream(target)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, bytesRead);
+            }
+        }
+        return crc.getValue() == entry.getCrc();
+    }
+
+    /**
+     * Deletes files an earlier extraction put under the same top-level
+     * folders that this archive no longer contains. Files changed since then
+     * are left alone and simply dropped from the index.
+     */
+    private static int removeStaleFiles(Path outputPath, ExtractionIndex index,
+                                        Set<String> fileNames, Set<String> roots) {
+        int removed = 0;
+
+        for (String name : new ArrayList<>(index.names())) {
+            if (fileNames.contains(name) || !roots.contains(rootOf(name))) continue;
+
+            ExtractionIndex.Record record = index.get(name);
+            index.remove(name);
+
+            try {
+                Path target = resolveEntry(outputPath, name);
+                BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+                if (attributes.isRegularFile() &&
+                        record.matches(attributes.size(), attributes.lastModifiedTime().toMillis())) {
+                    Files.delete(target);
+                    removed++;
+                }
+            } catch (IOException e) {
+                // Already gone, or not ours to delete
+            }
+        }
+        return removed;
+    }
+
+    private static String indexName(Path outputPath, Path target) {
+        return outputPath.relativize(target).toString().replace('\\', '/');
+    }
+
+    private static String rootOf(String name) {
+        int slash = name.indexOf('/');
+        return slash < 0 ? name : name.substring(0, slash);
+    }
+
+    /**
+     * @return the CRC-32 of what was written
+     */
+    private static long extractEntry(ZipFile zip, ZipEntry entry, Path target, AtomicLong extracted,
+                                     long totalSize, AtomicBoolean aborted,
+                                     ProgressListener progress) throws IOException {
+        long expectedSize = entry.getSize();
+
+        try (InputStream inputStream = zip.getInputStream(entry);
+             RandomAccessFile raf = new RandomAccessFile(target.toFile(), "rw")) {
+
+            // Reserve the full size in one go; this also truncates any older, longer file
+            raf.setLength(Math.max(0, expectedSize));
+
+            FileChannel channel = raf.getChannel();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            CRC32 crc = new CRC32();
+            long written = 0;
+            int bytesRead;
+
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                if (aborted.get()) {
+                    throw new IOException("Extraction cancelled");
+                }
+
+                byteBuffer.clear().limit(bytesRead);
+                while (byteBuffer.hasRemaining()) {
+                    written += channel.write(byteBuffer, written);
+                }
+                crc.update(buffer, 0, bytesRead);
+
+                progress.onProgress(PHASE, extracted.addAndGet(bytesRead), totalSize);
+            }
+
+            if (expectedSize >= 0 && written != expectedSize) {
+                throw new IOException("Entry " + entry.getName() + " is " + written +
+                        " bytes, expected " + expectedSize);
+            }
+            if (entry.getCrc() != -1 && crc.getValue() != entry.getCrc()) {
+                throw new IOException("Entry " + entry.getName() + " is corrupt (CRC mismatch)");
+            }
+            raf.setLength(written);
+            return crc.getValue();
+        }
+    }
+
+    private static Path resolveEntry(Path outputPath, String entryName) throws IOException {
+        Path target = outputPath.resolve(entryName).normalize();
+        if (!target.startsWith(outputPath)) {
+            throw new IOException("Archive entry escapes the target directory: " + entryName);
+        }
+        return target;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+/**
+ * Receives progress from long-running service operations. Services may call
+ * {@link #onProgress} for every buffer they move, possibly from several
+ * threads, so implementations must be cheap and thread-safe; wrap UI
+ * listeners in a {@link ThrottledProgressListener}.
+ */
+public interface ProgressListener {
+
+    ProgressListener NONE = new ProgressListener() {
+        @Override
+        public void onProgress(String phase, long done, long total) {
+        }
+
+        @Override
+        public void onStatus(String message) {
+        }
+    };
+
+    /**
+     * @param phase short constant label such as "Downloading"
+     * @param total total amount of work, or a value &lt;= 0 if unknown
+     */
+    void onProgress(String phase, long done, long total);
+
+    void onStatus(String message);
+}
@@ -0,0 +1,311 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import com.chalwk.model.ScriptCategory;
+import com.chalwk.model.ScriptMetadata;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Reads metadata.json straight off the wire, handing each script to the
+ * caller as soon as its entry closes. Nothing but the current script is
+ * held in memory, so the catalog (or a mirror of it) can grow without the
+ * parse cost growing with it.
+ * <p>
+ * Expected shape: {@code {"<category>": {"<key>": {"title": "...", ...}}}}.
+ * Unknown categories, fields and non-string values are skipped.
+ */
+class ScriptCatalogParser {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int position;
+    private int limit;
+    private long offset;
+
+    private ScriptCatalogParser(InputStream input) {
+        this.reader = new InputStreamReader(input, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the whole catalog, calling {@code sink} once per script in
+     * document order.
+     *
+     * @throws IOException if the stream fails or isn't a valid catalog
+     */
+    static void parse(InputStream input, Consumer<ScriptMetadata> sink) throws IOException {
+        new ScriptCatalogParser(input).parseCatalog(sink);
+    }
+
+    private void parseCatalog(Consumer<ScriptMetadata> sink) throws IOException {
+        expect('{');
+        if (consumeIf('}')) {
+            expectEnd();
+            return;
+        }
+
+        do {
+            String categoryKey = readString();
+            expect(':');
+
+            ScriptCategory category = categoryFor(categoryKey);
+            if (category != null && peek() == '{') {
+                parseCategory(category, sink);
+            } else {
+                skipValue();
+            }
+        } while (consumeIf(','));
+
+        expect('}');
+        expectEnd();
+    }
+
+    private void parseCategory(ScriptCategory category, Consumer<ScriptMetadata> sink) throws IOException {
+        expect('{');
+        if (consumeIf('}')) return;
+
+        do {
+            String scriptKey = readString();
+            expect(':');
+
+            if (peek() == '{') {
+                sink.accept(parseScript(scriptKey, category));
+            } else {
+                skipValue();
+            }
+        } while (consumeIf(','));
+
+        expect('}');
+    }
+
+    private ScriptMetadata parseScript(String key, ScriptCategory category) throws IOException {
+        ScriptMetadata script = new ScriptMetadata();
+        script.setKey(key);
+        script.setCategory(category);
+
+        // Some older entries carry their title under "truce"
+        String truce = null;
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                String field = readString();
+                expect(':');
+
+                if (peek() != '"') {
+                    skipValue();
+                    continue;
+                }
+
+                String value = readString();
+                switch (field) {
+                    case "title":
+                        script.setTitle(value);
+                        break;
+                    case "truce":
+                        truce = value;
+                        break;
+                    case "shortDescription":
+                        script.setShortDescription(value);
+                        break;
+                    case "description":
+                        script.setDescription(value);
+                        break;
+                    case "filename":
+                        script.setFilename(value);
+                        break;
+                    default:
+                        break;
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+
+        if (script.getTitle() == null) {
+            script.setTitle(truce);
+        }
+        return script;
+    }
+
+    private static ScriptCategory categoryFor(String key) {
+        switch (key) {
+            case "attractive":
+                return ScriptCategory.ATTRACTIVE;
+            case "custom_games":
+                return ScriptCategory.CUSTOM_GAMES;
+            case "utility":
+                return ScriptCategory.UTILITY;
+            default:
+                return null;
+        }
+    }
+
+    // Tokenizer
+
+    private String readString() throws IOException {
+        expect('"');
+        text.setLength(0);
+
+        while (true) {
+            int c = next();
+            if (c == '"') return text.toString();
+            if (c == '\\') {
+                text.append(readEscape());
+            } else if (c < 0x20) {
+                throw error(c < 0 ? "Unterminated string" : "Control character in string");
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) throw error("Invalid unicode escape");
+                    value = (value << 4) | digit;
+                }
+                // Surrogate pairs arrive as two escapes and simply end up adjacent
+                return (char) value;
+            default:
+                throw error("Invalid escape");
+        }
+    }
+
+    /**
+     * Skips one value of any type. Iterative, so deeply nested input can't
+     * overflow the stack.
+     */
+    private void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            int c = peek();
+            switch (c) {
+                case '{':
+                case '[':
+                    position++;
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0) throw error("Unexpected '" + (char) c + "'");
+                    position++;
+                    depth--;
+                    break;
+                case '"':
+                    readString();
+                    break;
+                case ',':
+                case ':':
+                    if (depth == 0) throw error("Unexpected '" + (char) c + "'");
+                    position++;
+                    break;
+                case -1:
+                    throw error("Unexpected end of catalog");
+                default:
+                    skipLiteral();
+                    break;
+            }
+        } while (depth > 0);
+    }
+
+    // Numbers, true, false and null; their exact form doesn't matter when skipped
+    private void skipLiteral() throws IOException {
+        boolean consumed = false;
+        while (position < limit || fill()) {
+            char c = buffer[position];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || c == '"' || Character.isWhitespace(c)) break;
+            position++;
+            consumed = true;
+        }
+        if (!consumed) throw error("Unexpected character");
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = peek();
+        if (c != expected) {
+            throw error(c < 0 ? "Expected '" + expected + "' but the catalog ended"
+                    : "Expected '" + expected + "' but found '" + (char) c + "'");
+        }
+        position++;
+    }
+
+    private boolean consumeIf(char expected) throws IOException {
+        if (peek() == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expectEnd() throws IOException {
+        if (peek() != -1) throw error("Trailing content after catalog");
+    }
+
+    /**
+     * The next non-whitespace character without consuming it, or -1 at the
+     * end of the stream.
+     */
+    private int peek() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) return -1;
+            char c = buffer[position];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            position++;
+        }
+    }
+
+    private int next() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        offset += limit;
+        position = 0;
+        limit = 0;
+
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) return false;
+        limit = read;
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed script catalog at character " + (offset + position) + ": " + message);
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import com.chalwk.model.ScriptCategory;
+import com.chalwk.model.ScriptMetadata;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The parsed script catalog as last fetched, plus the validators needed to
+ * ask GitHub whether it has changed since. Stored in a small binary file so
+ * the Script Browser can show it before any network request completes.
+ */
+class ScriptCatalogSnapshot {
+
+    private static final int MAGIC = 0x48534353; // "HSCS"
+    private static final int VERSION = 1;
+    private static final int MAX_STRING_LENGTH = 1024 * 1024;
+
+    final String etag;
+    final String lastModified;
+    final List<ScriptMetadata> scripts;
+
+    ScriptCatalogSnapshot(String etag, String lastModified, List<ScriptMetadata> scripts) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.scripts = Collections.unmodifiableList(new ArrayList<>(scripts));
+    }
+
+    /**
+     * @return the snapshot, or null if there is none or it can't be read
+     */
+    static ScriptCatalogSnapshot load(File file) {
+        if (!file.isFile()) return null;
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) return null;
+
+            String etag = readString(input);
+            String lastModified = readString(input);
+            int count = input.readInt();
+
+            List<ScriptMetadata> scripts = new ArrayList<>(Math.min(count, 4096));
+            for (int i = 0; i < count; i++) {
+                scripts.add(readScript(input));
+            }
+            return new ScriptCatalogSnapshot(etag, lastModified, scripts);
+        } catch (IOException | IllegalArgumentException e) {
+            // Damaged or from a newer format; the next fetch replaces it
+            return null;
+        }
+    }
+
+    void save(File file) throws IOException {
+        File tempFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            writeString(output, etag);
+            writeString(output, lastModified);
+            writeScripts(output, scripts);
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * True if both snapshots list the same scripts with the same details.
+     */
+    boolean sameScriptsAs(ScriptCatalogSnapshot other) {
+        return other != null && Arrays.equals(encode(scripts), encode(other.scripts));
+    }
+
+    private static byte[] encode(List<ScriptMetadata> scripts) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeScripts(output, scripts);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeScripts(DataOutputStream output, List<ScriptMetadata> scripts) throws IOException {
+        output.writeInt(scripts.size());
+        for (ScriptMetadata script : scripts) {
+            writeString(output, script.getKey());
+            writeString(output, script.getCategory() != null ? script.getCategory().name() : null);
+            writeString(output, script.getTitle());
+            writeString(output, script.getShortDescription());
+            writeString(output, script.getDescription());
+            writeString(output, script.getFilename());
+        }
+    }
+
+    private static ScriptMetadata readScript(DataInputStream input) throws IOException {
+        ScriptMetadata script = new ScriptMetadata();
+        script.setKey(readString(input));
+        String category = readString(input);
+        script.setCategory(category != null ? ScriptCategory.valueOf(category) : null);
+        script.setTitle(readString(input));
+        script.setShortDescription(readString(input));
+        script.setDescription(readString(input));
+        script.setFilename(readString(input));
+        return script;
+    }
+
+    // Length-prefixed UTF-8; -1 marks null. Unlike writeUTF this has no 64 KB limit.
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) return null;
+        if (length > MAX_STRING_LENGTH) throw new IOException("Corrupt catalog snapshot");
+
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
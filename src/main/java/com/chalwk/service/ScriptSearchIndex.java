@@ -0,0 +1,239 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import com.chalwk.model.ScriptMetadata;
+
+import java.util.*;
+
+/**
+ * An immutable inverted index over the script catalog for search-as-you-type.
+ * <p>
+ * Every word of a script's title, filename and descriptions becomes a term.
+ * Terms are kept sorted, so a query word finds all terms it prefixes with a
+ * binary search. Words of three or more characters also match inside terms
+ * through a trigram index ("match" finds "deathmatch"). Matches in
+ * the title and filename count for more than matches in the descriptions,
+ * and exact words beat prefixes, which beat infixes.
+ * <p>
+ * Build it off the EDT; queries are cheap enough to run on every keystroke.
+ */
+public class ScriptSearchIndex {
+
+    private static final float TITLE_WEIGHT = 8f;
+    private static final float FILENAME_WEIGHT = 6f;
+    private static final float SHORT_DESCRIPTION_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float EXACT_MATCH = 1f;
+    private static final float PREFIX_MATCH = 0.7f;
+    private static final float INFIX_MATCH = 0.4f;
+
+    private static final int GRAM = 3;
+
+    private final List<ScriptMetadata> scripts;
+    private final String[] terms;
+    // Per term, the scripts it occurs in and its weighted frequency in each
+    private final int[][] postings;
+    private final float[][] weights;
+    private final Map<String, int[]> trigrams;
+
+    private ScriptSearchIndex(List<ScriptMetadata> scripts, String[] terms, int[][] postings, float[][] weights,
+                              Map<String, int[]> trigrams) {
+        this.scripts = scripts;
+        this.terms = terms;
+        this.postings = postings;
+        this.weights = weights;
+        this.trigrams = trigrams;
+    }
+
+    public static ScriptSearchIndex build(List<ScriptMetadata> catalog) {
+        List<ScriptMetadata> scripts = List.copyOf(catalog);
+
+        // term -> (script -> weight), sorted by term
+        TreeMap<String, Map<Integer, Float>> occurrences = new TreeMap<>();
+        for (int id = 0; id < scripts.size(); id++) {
+            ScriptMetadata script = scripts.get(id);
+            addField(occurrences, id, script.getTitle(), TITLE_WEIGHT);
+            addField(occurrences, id, script.getFilename(), FILENAME_WEIGHT);
+            addField(occurrences, id, script.getShortDescription(), SHORT_DESCRIPTION_WEIGHT);
+            addField(occurrences, id, script.getDescription(), DESCRIPTION_WEIGHT);
+        }
+
+        String[] terms = new String[occurrences.size()];
+        int[][] postings = new int[terms.length][];
+        float[][] weights = new float[terms.length][];
+        Map<String, List<Integer>> gramTerms = new HashMap<>();
+
+        int termId = 0;
+        for (Map.Entry<String, Map<Integer, Float>> entry : occurrences.entrySet()) {
+            terms[termId] = entry.getKey();
+
+            int[] ids = new int[entry.getValue().size()];
+            float[] termWeights = new float[ids.length];
+            int i = 0;
+            for (Map.Entry<Integer, Float> posting : entry.getValue().entrySet()) {
+                ids[i] = posting.getKey();
+                termWeights[i] = posting.getValue();
+                i++;
+            }
+            postings[termId] = ids;
+            weights[termId] = termWeights;
+
+            for (String gram : trigramsOf(entry.getKey())) {
+                gramTerms.computeIfAbsent(gram, g -> new ArrayList<>()).add(termId);
+            }
+            termId++;
+        }
+
+        // Term ids were added in ascending order, so each list is already sorted
+        Map<String, int[]> trigrams = new HashMap<>(gramTerms.size() * 2);
+        gramTerms.forEach((gram, ids) -> trigrams.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+
+        return new ScriptSearchIndex(scripts, terms, postings, weights, trigrams);
+    }
+
+    /**
+     * Scripts matching every word of {@code query}, best match first. Ties
+     * keep catalog order.
+     */
+    public List<ScriptMetadata> search(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) return Collections.emptyList();
+
+        float[] scores = new float[scripts.size()];
+        int[] matchedWords = new int[scripts.size()];
+        float[] wordScores = new float[scripts.size()];
+
+        for (String word : words) {
+            Arrays.fill(wordScores, 0f);
+            collectPrefixMatches(word, wordScores);
+            if (word.length() >= GRAM) {
+                collectInfixMatches(word, wordScores);
+            }
+
+            for (int id = 0; id < wordScores.length; id++) {
+                if (wordScores[id] > 0) {
+                    scores[id] += wordScores[id];
+                    matchedWords[id]++;
+                }
+            }
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int id = 0; id < scores.length; id++) {
+            if (matchedWords[id] == words.size()) {
+                matches.add(id);
+            }
+        }
+        matches.sort((a, b) -> Float.compare(scores[b], scores[a]));
+
+        List<ScriptMetadata> results = new ArrayList<>(matches.size());
+        for (int id : matches) {
+            results.add(scripts.get(id));
+        }
+        return results;
+    }
+
+    private void collectPrefixMatches(String word, float[] wordScores) {
+        int termId = lowerBound(word);
+        while (termId < terms.length && terms[termId].startsWith(word)) {
+            float match = terms[termId].length() == word.length() ? EXACT_MATCH : PREFIX_MATCH;
+            addPostings(termId, match, wordScores);
+            termId++;
+        }
+    }
+
+    private void collectInfixMatches(String word, float[] wordScores) {
+        // Intersect the term lists of the word's trigrams, rarest first
+        List<int[]> lists = new ArrayList<>();
+        for (String gram : trigramsOf(word)) {
+            int[] ids = trigrams.get(gram);
+            if (ids == null) return;
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+
+        for (int termId : lists.get(0)) {
+            String term = terms[termId];
+            // Prefix matches were already scored higher
+            if (term.startsWith(word)) continue;
+            if (containsAll(lists, termId) && term.contains(word)) {
+                addPostings(termId, INFIX_MATCH, wordScores);
+            }
+        }
+    }
+
+    private static boolean containsAll(List<int[]> lists, int termId) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (Arrays.binarySearch(lists.get(i), termId) < 0) return false;
+        }
+        return true;
+    }
+
+    // A script's score for one word is its best-matching term, so a short
+    // prefix that happens to match many terms doesn't outrank an exact word
+    private void addPostings(int termId, float match, float[] wordScores) {
+        int[] ids = postings[termId];
+        float[] termWeights = weights[termId];
+        for (int i = 0; i < ids.length; i++) {
+            wordScores[ids[i]] = Math.max(wordScores[ids[i]], termWeights[i] * match);
+        }
+    }
+
+    private int lowerBound(String word) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(word) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void addField(TreeMap<String, Map<Integer, Float>> occurrences, int id, String text, float weight) {
+        for (String term : tokenize(text)) {
+            occurrences.computeIfAbsent(term, t -> new TreeMap<>()).merge(id, weight, Float::sum);
+        }
+    }
+
+    private static Set<String> trigramsOf(String term) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; underscores, dots and other
+     * punctuation separate words, so "rage_quit.lua" yields rage, quit, lua.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
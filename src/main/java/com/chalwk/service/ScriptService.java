@@ -9,160 +9,165 @@
 
 package com.chalwk.service;
 
-import com.chalwk.model.ScriptCategory;
 import com.chalwk.model.ScriptMetadata;
-import org.json.JSONObject;
 
-import javax.swing.*;
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileWriter;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ScriptService {
 
     private static final String METADATA_URL = "https://raw.githubusercontent.com/Chalwk/HALO-SCRIPT-PROJECTS/master/metadata.json";
 
-    public static List<ScriptMetadata> loadScriptsMetadata() {
-        List<ScriptMetadata> scripts = new ArrayList<>();
-
-        try {
-            String jsonContent = fetchUrlContent();
-            if (jsonContent != null) {
-                JSONObject metadata = new JSONObject(jsonContent);
-                parseCategoryScripts(metadata, "attractive", ScriptCategory.ATTRACTIVE, scripts);
-                parseCategoryScripts(metadata, "custom_games", ScriptCategory.CUSTOM_GAMES, scripts);
-                parseCategoryScripts(metadata, "utility", ScriptCategory.UTILITY, scripts);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+    private static final File CATALOG_FILE = new File("script_catalog.dat");
 
-        return scripts;
+    /**
+     * The catalog as it was last fetched, without touching the network.
+     * Empty if it has never been fetched.
+     */
+    public static List<ScriptMetadata> loadCachedScripts() {
+        ScriptCatalogSnapshot snapshot = ScriptCatalogSnapshot.load(CATALOG_FILE);
+        return snapshot != null ? new ArrayList<>(snapshot.scripts) : new ArrayList<>();
     }
 
-    private static void parseCategoryScripts(JSONObject metadata, String categoryKey,
-                                             ScriptCategory category, List<ScriptMetadata> scripts) {
-        if (metadata.has(categoryKey)) {
-            JSONObject categoryObj = metadata.getJSONObject(categoryKey);
-            for (String scriptKey : categoryObj.keySet()) {
-                JSONObject scriptObj = categoryObj.getJSONObject(scriptKey);
+    /**
+     * Asks GitHub whether the catalog changed since the cached copy, and
+     * fetches and caches it if so.
+     *
+     * @param onScript called on the calling thread for each script as it is
+     *                 parsed, before the download has finished
+     * @return the new catalog, or null if it is unchanged
+     */
+    public static List<ScriptMetadata> refreshScripts(Consumer<ScriptMetadata> onScript) throws IOException {
+        ScriptCatalogSnapshot cached = ScriptCatalogSnapshot.load(CATALOG_FILE);
+
+        HttpRequest.Builder request = HttpTransport.textRequest(METADATA_URL);
+        if (cached != null && cached.etag != null) request.header("If-None-Match", cached.etag);
+        if (cached != null && cached.lastModified != null) request.header("If-Modified-Since", cached.lastModified);
+
+        HttpResponse<InputStream> response = HttpTransport.send(request.build());
+        if (response.statusCode() == 304 && cached != null) {
+            HttpTransport.discard(response);
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            HttpTransport.discard(response);
+            throw new IOException("Script catalog request failed. Server returned HTTP code: " + response.statusCode());
+        }
 
-                ScriptMetadata script = new ScriptMetadata();
-                script.setKey(scriptKey);
-                script.setCategory(category);
+        List<ScriptMetadata> scripts = new ArrayList<>();
+        try (InputStream input = HttpTransport.body(response)) {
+            ScriptCatalogParser.parse(input, script -> {
+                scripts.add(script);
+                onScript.accept(script);
+            });
+        }
 
-                // Handle different JSON structures
-                if (scriptObj.has("title")) {
-                    script.setTitle(scriptObj.getString("title"));
-                } else if (scriptObj.has("truce")) {
-                    script.setTitle(scriptObj.getString("truce"));
-                }
+        ScriptCatalogSnapshot fresh = new ScriptCatalogSnapshot(HttpTransport.header(response, "ETag"),
+                HttpTransport.header(response, "Last-Modified"), scripts);
+        try {
+            fresh.save(CATALOG_FILE);
+        } catch (IOException e) {
+            System.err.println("Failed to save script catalog: " + e.getMessage());
+        }
 
-                if (scriptObj.has("shortDescription")) {
-                    script.setShortDescription(scriptObj.getString("shortDescription"));
-                }
+        // A new ETag doesn't always mean new content
+        return fresh.sameScriptsAs(cached) ? null : scripts;
+    }
 
-                if (scriptObj.has("description")) {
-                    script.setDescription(scriptObj.getString("description"));
-                }
+    /**
+     * Downloads a script once and copies it into each of {@code luaFolders}.
+     * Every copy is staged next to its target and moved into place, so a
+     * running server never loads a half-written script.
+     *
+     * @return true only if every folder received the script
+     */
+    public static boolean installScript(ScriptMetadata script, List<File> luaFolders, ProgressListener progress) {
+        File downloaded = null;
+        try {
+            downloaded = File.createTempFile("script-", ".lua");
+            if (!downloadScriptFile(script.getRawScriptUrl(), downloaded, progress)) {
+                return false;
+            }
 
-                if (scriptObj.has("filename")) {
-                    script.setFilename(scriptObj.getString("filename"));
-                }
+            for (File luaFolder : luaFolders) {
+                writeAtomically(downloaded.toPath(), new File(luaFolder, script.getFilename()));
+            }
+            return true;
 
-                scripts.add(script);
+        } catch (Exception e) {
+            progress.onStatus("Error downloading script: " + e.getMessage());
+            return false;
+        } finally {
+            if (downloaded != null) {
+                downloaded.delete();
             }
         }
     }
 
-    public static boolean downloadScript(ScriptMetadata script, File luaFolder, JProgressBar progressBar, JLabel statusLabel) {
-        try {
-            String scriptUrl = script.getRawScriptUrl();
-            File outputFile = new File(luaFolder, script.getFilename());
-
-            return downloadScriptFile(scriptUrl, outputFile, progressBar, statusLabel);
+    private static void writeAtomically(Path source, File target) throws IOException {
+        File folder = target.getParentFile();
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Could not create " + folder);
+        }
 
-        } catch (Exception e) {
-            SwingUtilities.invokeLater(() ->
-                    statusLabel.setText("Error downloading script: " + e.getMessage()));
-            return false;
+        Path staging = new File(folder, "." + target.getName() + ".tmp").toPath();
+        try {
+            Files.copy(source, staging, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(staging, target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(staging);
         }
     }
 
-    private static boolean downloadScriptFile(String scriptUrl, File outputFile,
-                                              JProgressBar progressBar, JLabel statusLabel) {
+    private static boolean downloadScriptFile(String scriptUrl, File outputFile, ProgressListener progress) {
         try {
-            URL url = new URL(scriptUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                SwingUtilities.invokeLater(() ->
-                        statusLabel.setText("Download failed. Server returned HTTP code: " + responseCode));
+            HttpResponse<InputStream> response = HttpTransport.send(HttpTransport.textRequest(scriptUrl).build());
+
+            int responseCode = response.statusCode();
+            if (responseCode != 200) {
+                HttpTransport.discard(response);
+                progress.onStatus("Download failed. Server returned HTTP code: " + responseCode);
                 return false;
             }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-                 FileWriter writer = new FileWriter(outputFile)) {
-
-                String line;
-                int lineCount = 0;
+            // Content-Length counts the bytes on the wire, which may be gzip-compressed
+            long fileSize = HttpTransport.contentLength(response);
+            // Scripts have no published checksum; this catches truncated responses
+            IntegrityCheck check = new IntegrityCheck(null);
 
-                while ((line = reader.readLine()) != null) {
-                    writer.write(line + "\n");
-                    lineCount++;
-
-                    // Update progress every 10 lines
-                    if (lineCount % 10 == 0) {
-                        final int currentLines = lineCount;
-                        SwingUtilities.invokeLater(() ->
-                                statusLabel.setText("Downloaded " + currentLines + " lines..."));
-                    }
-                }
+            // Copied as bytes so the file matches the repository blob exactly
+            try (InputStream input = HttpTransport.body(response, check.wrap(response.body()))) {
+                Files.copy(input, outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
             }
+            progress.onProgress("Downloading script", check.getPosition(), fileSize);
 
-            connection.disconnect();
-
-            SwingUtilities.invokeLater(() -> {
-                progressBar.setValue(100);
-                statusLabel.setText("Script downloaded successfully!");
-            });
+            if (fileSize > 0) {
+                check.setExpectedLength(fileSize);
+            }
+            try {
+                check.verify();
+            } catch (IOException e) {
+                outputFile.delete();
+                throw e;
+            }
 
+            progress.onStatus("Script downloaded successfully!");
             return true;
 
         } catch (Exception e) {
-            SwingUtilities.invokeLater(() ->
-                    statusLabel.setText("Download error: " + e.getMessage()));
+            progress.onStatus("Download error: " + e.getMessage());
             return false;
         }
     }
 
-    private static String fetchUrlContent() {
-        try {
-            URL url = new URL(ScriptService.METADATA_URL);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-
-            StringBuilder content = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    content.append(line);
-                }
-            }
-
-            connection.disconnect();
-            return content.toString();
-
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
 }
\ No newline at end of file
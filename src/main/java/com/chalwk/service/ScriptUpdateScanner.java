@@ -0,0 +1,261 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import com.chalwk.model.ScriptMetadata;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Finds installed scripts that differ from the copy in HALO-SCRIPT-PROJECTS.
+ * Installed files are hashed the way git hashes a blob, so they can be
+ * compared with the SHAs in the repository tree without downloading any
+ * script. Hashes are cached by size and modification time, so a rescan only
+ * reads files that changed since the last one.
+ */
+public class ScriptUpdateScanner {
+
+    private static final String TREE_URL =
+            "https://api.github.com/repos/Chalwk/HALO-SCRIPT-PROJECTS/git/trees/master?recursive=1";
+    private static final String SCRIPT_ROOT = "sapp/";
+    private static final File HASH_CACHE_FILE = new File("script_hashes.properties");
+    private static final int MAX_THREADS = 4;
+
+    /**
+     * An installed script whose content no longer matches upstream.
+     */
+    public static class ScriptUpdate {
+        private final ScriptMetadata script;
+        private final File installedFile;
+
+        ScriptUpdate(ScriptMetadata script, File installedFile) {
+            this.script = script;
+            this.installedFile = installedFile;
+        }
+
+        public ScriptMetadata getScript() {
+            return script;
+        }
+
+        public File getInstalledFile() {
+            return installedFile;
+        }
+    }
+
+    /**
+     * Compares every catalog script installed in {@code luaFolders} with
+     * upstream. Files that aren't in the catalog are ignored.
+     */
+    public static List<ScriptUpdate> scan(List<ScriptMetadata> catalog, List<File> luaFolders) throws IOException {
+        // Start the tree request first; hashing runs while it is in flight
+        CompletableFuture<String> tree = HttpTransport.getStringAsync(HttpTransport.textRequest(TREE_URL)
+                .header("Accept", "application/vnd.github+json")
+                .build());
+
+        // Categories can hold scripts with the same filename
+        Map<String, List<ScriptMetadata>> scriptsByFilename = new HashMap<>();
+        for (ScriptMetadata script : catalog) {
+            if (script.getFilename() != null) {
+                scriptsByFilename.computeIfAbsent(script.getFilename(), name -> new ArrayList<>()).add(script);
+            }
+        }
+
+        List<File> installed = new ArrayList<>();
+        for (File luaFolder : luaFolders) {
+            File[] files = luaFolder.listFiles(file -> file.isFile() && scriptsByFilename.containsKey(file.getName()));
+            if (files != null) {
+                installed.addAll(Arrays.asList(files));
+            }
+        }
+
+        Map<File, String> localHashes = hashAll(installed);
+        Map<String, String> upstreamHashes = parseTree(awaitTree(tree));
+
+        List<ScriptUpdate> updates = new ArrayList<>();
+        for (File file : installed) {
+            String local = localHashes.get(file);
+            if (local == null) continue;
+
+            // Scripts no longer upstream have nothing to update to
+            List<ScriptMetadata> changed = new ArrayList<>();
+            boolean current = false;
+            for (ScriptMetadata script : scriptsByFilename.get(file.getName())) {
+                String upstream = upstreamHashes.get(SCRIPT_ROOT + script.getCategory().getFolderName() + "/"
+                        + script.getFilename());
+                if (upstream == null) continue;
+                if (upstream.equals(local)) {
+                    current = true;
+                    break;
+                }
+                changed.add(script);
+            }
+
+            if (current || changed.isEmpty()) continue;
+            if (changed.size() > 1) {
+                // Updating would mean guessing which of them this file is
+                System.err.println("Skipping " + file + ": its name matches scripts in several categories");
+                continue;
+            }
+            updates.add(new ScriptUpdate(changed.get(0), file));
+        }
+        return updates;
+    }
+
+    private static String awaitTree(CompletableFuture<String> tree) throws IOException {
+        try {
+            return tree.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Failed to fetch the script repository tree: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * @return blob SHA by repository path, for everything under sapp/
+     */
+    private static Map<String, String> parseTree(String json) {
+        JSONObject tree = new JSONObject(json);
+        if (tree.optBoolean("truncated")) {
+            System.err.println("Script repository tree was truncated; some updates may be missed");
+        }
+
+        Map<String, String> hashes = new HashMap<>();
+        JSONArray entries = tree.getJSONArray("tree");
+        for (int i = 0; i < entries.length(); i++) {
+            JSONObject entry = entries.getJSONObject(i);
+            String path = entry.optString("path");
+            if ("blob".equals(entry.optString("type")) && path.startsWith(SCRIPT_ROOT)) {
+                hashes.put(path, entry.getString("sha"));
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Hashes {@code files} in parallel, reusing cached hashes for files whose
+     * size and modification time are unchanged. Unreadable files are left out.
+     */
+    private static Map<File, String> hashAll(List<File> files) throws IOException {
+        Properties cache = loadCache();
+        Map<File, String> hashes = new ConcurrentHashMap<>();
+        List<File> stale = new ArrayList<>();
+
+        // cache entry: absolute path = size,modified,sha
+        for (File file : files) {
+            String cached = cache.getProperty(file.getAbsolutePath());
+            String[] parts = cached != null ? cached.split(",") : null;
+            if (parts != null && parts.length == 3
+                    && parts[0].equals(String.valueOf(file.length()))
+                    && parts[1].equals(String.valueOf(file.lastModified()))) {
+                hashes.put(file, parts[2]);
+            } else {
+                stale.add(file);
+            }
+        }
+
+        if (!stale.isEmpty()) {
+            int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, stale.size()), runnable -> {
+                Thread thread = new Thread(runnable, "script-hash");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                List<Future<?>> futures = new ArrayList<>(stale.size());
+                for (File file : stale) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            // Stat before reading, so a write during the read makes the entry stale
+                            long size = file.length();
+                            long modified = file.lastModified();
+                            String sha = gitBlobSha(file);
+                            hashes.put(file, sha);
+                            cache.setProperty(file.getAbsolutePath(), size + "," + modified + "," + sha);
+                        } catch (IOException e) {
+                            System.err.println("Failed to hash " + file + ": " + e.getMessage());
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to hash installed scripts: " + e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Script scan interrupted");
+            } finally {
+                executor.shutdownNow();
+            }
+
+            saveCache(cache);
+        }
+        return hashes;
+    }
+
+    /**
+     * SHA-1 of {@code "blob <size>\0"} followed by the file's bytes, which is
+     * the object ID git gives the file.
+     */
+    static String gitBlobSha(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+
+        try (InputStream input = new FileInputStream(file)) {
+            byte[] data = input.readAllBytes();
+            digest.update(("blob " + data.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            digest.update(data);
+        }
+
+        StringBuilder hex = new StringBuilder(40);
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        try (InputStream input = new FileInputStream(HASH_CACHE_FILE)) {
+            cache.load(input);
+        } catch (IOException e) {
+            // First scan; everything gets hashed
+        }
+        return cache;
+    }
+
+    private static void saveCache(Properties cache) {
+        // Forget scripts that have since been deleted
+        for (String path : cache.stringPropertyNames()) {
+            if (!new File(path).isFile()) {
+                cache.remove(path);
+            }
+        }
+
+        try (OutputStream output = new FileOutputStream(HASH_CACHE_FILE)) {
+            cache.store(output, "Halo Server Manager installed script hashes");
+        } catch (IOException e) {
+            System.err.println("Failed to save script hash cache: " + e.getMessage());
+        }
+    }
+}
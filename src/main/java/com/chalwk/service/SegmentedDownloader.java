@@ -0,0 +1,400 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads a file over several parallel HTTP range requests when the server
+ * supports them, and over a single stream when it does not. Each range is
+ * sent over HTTP/1.1 (see {@link HttpTransport#request}), so it gets its own
+ * connection rather than a share of one multiplexed HTTP/2 stream.
+ * <p>
+ * Data is written to a {@code .part} file next to the target, with a
+ * {@code .part.state} sidecar recording the validators and how far each
+ * range got, so an interrupted download resumes instead of starting over.
+ * <p>
+ * The SHA-256 of the file is checked before the {@code .part} file is moved
+ * into place. A single stream is hashed as it is written; in segmented mode
+ * only the lowest unfinished range is, and the other ranges are read back
+ * once the digest reaches them (see {@link IntegrityCheck}).
+ */
+public class SegmentedDownloader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MIN_SEGMENT_SIZE = 4L * 1024 * 1024;
+    private static final int MAX_SEGMENTS = 8;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_PARTIAL = 206;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String PHASE = "Downloading";
+
+    public static class Result {
+        private final long fileSize;
+        private final String etag;
+        private final String lastModified;
+        private final String sha256;
+
+        Result(long fileSize, String etag, String lastModified, String sha256) {
+            this.fileSize = fileSize;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.sha256 = sha256;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+
+    /**
+     * Downloads {@code fileURL} into {@code outputFile}, resuming a previous
+     * partial download of the same resource when one is found.
+     *
+     * @param expectedSha256 published checksum of the file, or null to only check its length
+     * @param progress       receives the running byte count, from several threads in segmented mode
+     * @return the size, validators and SHA-256 of the downloaded file
+     */
+    public static Result download(String fileURL, File outputFile, String expectedSha256,
+                                  ProgressListener progress) throws IOException {
+        File partFile = new File(outputFile.getPath() + ".part");
+        File stateFile = new File(outputFile.getPath() + ".part.state");
+        IOException lastError = null;
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                Result result = attemptDownload(fileURL, partFile, stateFile, expectedSha256, progress);
+                Files.move(partFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Files.deleteIfExists(stateFile.toPath());
+                return result;
+            } catch (HttpStatusException e) {
+                // The server refused the request outright; retrying won't help
+                throw e;
+            } catch (RemoteChangedException | CorruptDownloadException e) {
+                // Our partial data belongs to an older version of the file, or is damaged
+                discardPartial(partFile, stateFile);
+                lastError = e;
+            } catch (IOException e) {
+                lastError = e;
+            }
+
+            if (Thread.currentThread().isInterrupted()) break;
+
+            try {
+                Thread.sleep(attempt * 1000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        throw lastError;
+    }
+
+    private static Result attemptDownload(String fileURL, File partFile, File stateFile, String expectedSha256,
+                                          ProgressListener progress) throws IOException {
+        IntegrityCheck check = new IntegrityCheck(expectedSha256);
+        DownloadState state = partFile.exists() ? DownloadState.load(stateFile, fileURL) : null;
+
+        // Ask for the first byte only: a 206 tells us ranges work and gives us the full length,
+        // a 200 means the server ignored the range and we can simply stream this response.
+        HttpResponse<InputStream> probe = HttpTransport.send(HttpTransport.request(fileURL)
+                .header("Range", "bytes=0-0")
+                .build());
+
+        int responseCode = probe.statusCode();
+
+        if (responseCode == HTTP_OK) {
+            // No range support means nothing can be resumed
+            discardPartial(partFile, stateFile);
+            long fileSize = downloadSingle(probe, partFile, HttpTransport.contentLength(probe), check, progress);
+            verify(check, fileSize);
+            return new Result(fileSize, HttpTransport.header(probe, "ETag"),
+                    HttpTransport.header(probe, "Last-Modified"), check.getSha256());
+        }
+
+        if (responseCode != HTTP_PARTIAL) {
+            HttpTransport.discard(probe);
+            throw new HttpStatusException(responseCode);
+        }
+
+        // Reuse the URI we were redirected to so each segment skips the redirect hop
+        URI resolvedUri = probe.uri();
+        long fileSize = parseTotalLength(HttpTransport.header(probe, "Content-Range"));
+        String etag = HttpTransport.header(probe, "ETag");
+        String lastModified = HttpTransport.header(probe, "Last-Modified");
+        HttpTransport.discard(probe);
+
+        if (fileSize < 0) {
+            discardPartial(partFile, stateFile);
+            HttpResponse<InputStream> response = HttpTransport.send(HttpTransport.request(resolvedUri).build());
+            if (response.statusCode() != HTTP_OK) {
+                HttpTransport.discard(response);
+                throw new HttpStatusException(response.statusCode());
+            }
+            long size = downloadSingle(response, partFile, HttpTransport.contentLength(response), check, progress);
+            verify(check, size);
+            return new Result(size, etag, lastModified, check.getSha256());
+        }
+
+        if (state != null && !state.matches(fileSize, etag, lastModified)) {
+            discardPartial(partFile, stateFile);
+            state = null;
+        }
+
+        if (state == null) {
+            int segmentCount = (int) Math.max(1, Math.min(MAX_SEGMENTS, fileSize / MIN_SEGMENT_SIZE));
+            state = DownloadState.create(stateFile, fileURL, fileSize, etag, lastModified, segmentCount);
+        }
+
+        downloadSegmented(resolvedUri, partFile, state, check, progress);
+        verify(check, fileSize);
+        return new Result(fileSize, etag, lastModified, check.getSha256());
+    }
+
+    private static void verify(IntegrityCheck check, long fileSize) throws IOException {
+        check.setExpectedLength(fileSize);
+        try {
+            check.verify();
+        } catch (IOException e) {
+            throw new CorruptDownloadException(e.getMessage());
+        }
+    }
+
+    private static long downloadSingle(HttpResponse<InputStream> response, File outputFile, long fileSize,
+                                       IntegrityCheck check, ProgressListener progress) throws IOException {
+        try (InputStream inputStream = response.body();
+             RandomAccessFile raf = new RandomAccessFile(outputFile, "rw")) {
+
+            raf.setLength(0);
+            if (fileSize > 0) {
+                raf.setLength(fileSize);
+            }
+
+            FileChannel channel = raf.getChannel();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long totalBytesRead = 0;
+            int bytesRead;
+
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                writeFully(channel, buffer, bytesRead, totalBytesRead);
+                check.update(buffer, 0, bytesRead);
+                totalBytesRead += bytesRead;
+                progress.onProgress(PHASE, totalBytesRead, fileSize);
+            }
+
+            if (fileSize > 0 && totalBytesRead != fileSize) {
+                throw new IOException("Download incomplete: received " + totalBytesRead + " of " + fileSize + " bytes");
+            }
+
+            // Trim any preallocation if the server did not tell us the length up front
+            raf.setLength(totalBytesRead);
+            return totalBytesRead;
+        }
+    }
+
+    private static void downloadSegmented(URI uri, File partFile, DownloadState state, IntegrityCheck check,
+                                          ProgressListener progress) throws IOException {
+        List<DownloadState.Segment> pending = new ArrayList<>();
+        for (DownloadState.Segment segment : state.segments) {
+            if (!segment.isComplete()) pending.add(segment);
+        }
+
+        long fileSize = state.fileSize;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, pending.size()), runnable -> {
+            Thread thread = new Thread(runnable, "segment-download");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (RandomAccessFile raf = new RandomAccessFile(partFile, "rw")) {
+            if (raf.length() != fileSize) {
+                raf.setLength(fileSize);
+            }
+
+            FileChannel channel = raf.getChannel();
+            AtomicLong totalBytesRead = new AtomicLong(state.completedBytes());
+            AtomicBoolean aborted = new AtomicBoolean();
+            progress.onProgress(PHASE, totalBytesRead.get(), fileSize);
+
+            List<Future<?>> futures = new ArrayList<>(pending.size());
+            for (DownloadState.Segment segment : pending) {
+                futures.add(executor.submit(() -> {
+                    downloadRange(uri, channel, segment, state, check, aborted, totalBytesRead, progress);
+                    return null;
+                }));
+            }
+
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                // Anything a resumed download already had on disk still needs hashing
+                check.catchUp(channel, fileSize);
+            } catch (ExecutionException e) {
+                aborted.set(true);
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) throw (IOException) cause;
+                throw new IOException("Segment download failed: " + cause.getMessage(), cause);
+            } catch (InterruptedException e) {
+                aborted.set(true);
+                Thread.currentThread().interrupt();
+                throw new IOException("Download interrupted", e);
+            } finally {
+                // Record whatever made it to disk so the next attempt picks up from there.
+                // A pending interrupt would make force() close the channel and lose this save.
+                boolean interrupted = Thread.interrupted();
+                state.save(channel);
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void downloadRange(URI uri, FileChannel channel, DownloadState.Segment segment, DownloadState state,
+                                      IntegrityCheck check, AtomicBoolean aborted, AtomicLong totalBytesRead,
+                                      ProgressListener progress) throws IOException {
+        HttpRequest.Builder request = HttpTransport.request(uri)
+                .header("Range", "bytes=" + segment.next + "-" + segment.end);
+
+        // If the file changed since we started, If-Range makes the server send the whole new file instead
+        String validator = state.validator();
+        if (validator != null) {
+            request.header("If-Range", validator);
+        }
+
+        HttpResponse<InputStream> response = HttpTransport.send(request.build());
+
+        // Closing the body early (on error or cancel) releases the stream without reading the rest
+        try (InputStream inputStream = response.body()) {
+            int responseCode = response.statusCode();
+            if (responseCode == HTTP_OK && validator != null) {
+                throw new RemoteChangedException();
+            }
+            if (responseCode != HTTP_PARTIAL) {
+                throw new IOException("Range request failed. Server returned HTTP code: " + responseCode);
+            }
+
+            String contentRange = HttpTransport.header(response, "Content-Range");
+            if (contentRange == null || !contentRange.startsWith("bytes " + segment.next + "-")) {
+                throw new IOException("Server returned unexpected range: " + contentRange);
+            }
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            long position = segment.next;
+            int bytesRead;
+
+            while (position <= segment.end && (bytesRead = inputStream.read(buffer)) != -1) {
+                if (aborted.get()) {
+                    throw new IOException("Download cancelled");
+                }
+
+                int length = (int) Math.min(bytesRead, segment.end + 1 - position);
+                writeFully(channel, buffer, length, position);
+                // Only the range the digest has reached is hashed here; the rest is caught up below
+                check.update(position, buffer, 0, length);
+                position += length;
+                segment.next = position;
+
+                progress.onProgress(PHASE, totalBytesRead.addAndGet(length), state.fileSize);
+                state.saveIfDue(channel);
+            }
+
+            if (position != segment.end + 1) {
+                throw new IOException("Segment " + segment.start + "-" + segment.end +
+                        " ended early at byte " + position);
+            }
+
+            // Read back and hash the ranges that finished ahead of the digest while they are likely
+            // still in the page cache, so the next segment's worker can carry on hashing inline
+            check.catchUp(channel, state.contiguousBytes());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] buffer, int length, long position) throws IOException {
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, length);
+        while (byteBuffer.hasRemaining()) {
+            position += channel.write(byteBuffer, position);
+        }
+    }
+
+    private static long parseTotalLength(String contentRange) {
+        // Content-Range: bytes 0-0/123456
+        if (contentRange == null) return -1;
+        int slash = contentRange.lastIndexOf('/');
+        if (slash < 0) return -1;
+
+        String total = contentRange.substring(slash + 1).trim();
+        if (total.equals("*")) return -1;
+
+        try {
+            return Long.parseLong(total);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void discardPartial(File partFile, File stateFile) throws IOException {
+        Files.deleteIfExists(stateFile.toPath());
+        Files.deleteIfExists(partFile.toPath());
+    }
+
+    private static class HttpStatusException extends IOException {
+        HttpStatusException(int responseCode) {
+            super("Download failed. Server returned HTTP code: " + responseCode);
+        }
+    }
+
+    private static class CorruptDownloadException extends IOException {
+        CorruptDownloadException(String message) {
+            super(message);
+        }
+    }
+
+    private static class RemoteChangedException extends IOException {
+        RemoteChangedException() {
+            super("The file changed on the server; restarting download");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.service;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Coalesces progress updates and forwards only the latest one to a delegate,
+ * at most once per interval, on the given executor (for example
+ * {@code SwingUtilities::invokeLater}). An update held back by the interval
+ * is flushed once the interval has passed, so the last one of a phase is
+ * never lost.
+ * <p>
+ * Phase, count and total are recorded together under a short lock, without
+ * allocating. Status messages are rarer and each one matters, so they are
+ * queued and every one is forwarded, in order relative to progress.
+ */
+public class ThrottledProgressListener implements ProgressListener {
+
+    private static final long DEFAULT_INTERVAL_MS = 50;
+
+    // Hands held-back updates to their listener's executor once their interval is up
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "progress-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ProgressListener delegate;
+    private final Executor executor;
+    private final long intervalNanos;
+    private final Runnable flushTask = this::flush;
+    private final Runnable delayedFlushTask = this::delayedFlush;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean delayedFlushScheduled = new AtomicBoolean();
+
+    // Guarded by this, so a flush never pairs one phase with another's count
+    private String phase;
+    private long done;
+    private long total;
+
+    private final Queue<String> pendingStatuses = new ConcurrentLinkedQueue<>();
+    private volatile boolean progressPending;
+    private volatile boolean statusIsNewest;
+    private volatile long lastFlush;
+
+    public ThrottledProgressListener(ProgressListener delegate, Executor executor) {
+        this(delegate, executor, DEFAULT_INTERVAL_MS);
+    }
+
+    public ThrottledProgressListener(ProgressListener delegate, Executor executor, long intervalMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.lastFlush = System.nanoTime() - intervalNanos;
+    }
+
+    @Override
+    public void onProgress(String phase, long done, long total) {
+        boolean phaseChanged;
+        synchronized (this) {
+            phaseChanged = !phase.equals(this.phase);
+            if (phaseChanged) {
+                this.phase = phase;
+                this.done = done;
+            } else if (done > this.done) {
+                // Parallel workers can report out of order; never move backwards
+                this.done = done;
+            }
+            this.total = total;
+        }
+
+        progressPending = true;
+        statusIsNewest = false;
+
+        long sinceFlush = System.nanoTime() - lastFlush;
+        if (sinceFlush >= intervalNanos || phaseChanged || (total > 0 && done >= total)) {
+            scheduleFlush();
+        } else if (delayedFlushScheduled.compareAndSet(false, true)) {
+            TIMER.schedule(delayedFlushTask, intervalNanos - sinceFlush, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onStatus(String message) {
+        pendingStatuses.add(message);
+        statusIsNewest = true;
+        scheduleFlush();
+    }
+
+    private void scheduleFlush() {
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.execute(flushTask);
+        }
+    }
+
+    private void delayedFlush() {
+        delayedFlushScheduled.set(false);
+        // Skip if a flush already took this update
+        if (progressPending) {
+            scheduleFlush();
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        lastFlush = System.nanoTime();
+
+        if (statusIsNewest) {
+            flushProgress();
+            flushStatus();
+        } else {
+            flushStatus();
+            flushProgress();
+        }
+    }
+
+    private void flushProgress() {
+        if (progressPending) {
+            progressPending = false;
+            String phase;
+            long done;
+            long total;
+            synchronized (this) {
+                phase = this.phase;
+                done = this.done;
+                total = this.total;
+            }
+            delegate.onProgress(phase, done, total);
+        }
+    }
+
+    private void flushStatus() {
+        String status;
+        while ((status = pendingStatuses.poll()) != null) {
+            delegate.onStatus(status);
+        }
+    }
+}
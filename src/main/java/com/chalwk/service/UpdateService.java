@@ -14,11 +14,13 @@ import org.json.JSONObject;
 
 import javax.swing.*;
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 public class UpdateService {
 
@@ -26,10 +28,20 @@ public class UpdateService {
     private static final String VERSION_URL = "https://api.github.com/repos/" + GITHUB_REPO + "/releases/latest";
     private static final String VERSION_FILE = "version.properties";
 
+    /**
+     * Checks GitHub for a newer release without blocking the caller.
+     */
+    public static CompletableFuture<UpdateConfig> checkForUpdatesAsync() {
+        return fetchLatestReleaseAsync().thenApply(UpdateService::toUpdateConfig);
+    }
+
     public static UpdateConfig checkForUpdates() {
+        return checkForUpdatesAsync().join();
+    }
+
+    private static UpdateConfig toUpdateConfig(JSONObject latestRelease) {
         try {
             String currentVersion = getCurrentVersion();
-            JSONObject latestRelease = fetchLatestRelease();
 
             if (latestRelease != null) {
                 String latestVersion = latestRelease.getString("tag_name").replace("v", "");
@@ -37,6 +49,7 @@ public class UpdateService {
                 String releaseNotes = latestRelease.getString("body");
 
                 UpdateConfig config = new UpdateConfig(currentVersion, latestVersion, downloadUrl, releaseNotes);
+                config.setChecksum(getChecksum(latestRelease, downloadUrl));
 
                 // Save the latest version info
                 saveVersionInfo(latestVersion, downloadUrl, releaseNotes);
@@ -63,48 +76,18 @@ public class UpdateService {
         }
     }
 
-    private static JSONObject fetchLatestRelease() {
-        try {
-            URL url = new URL(VERSION_URL);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setRequestProperty("Accept", "application/vnd.github.v3+json");
-            connection.setRequestProperty("User-Agent", "HaloServerManager");
-            connection.setConnectTimeout(10000);
-            connection.setReadTimeout(10000);
-
-            int responseCode = connection.getResponseCode();
-            System.out.println("GitHub API Response Code: " + responseCode);
-
-            if (responseCode == 200) {
-                try (BufferedReader reader = new BufferedReader(
-                        new InputStreamReader(connection.getInputStream()))) {
-
-                    StringBuilder content = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        content.append(line);
-                    }
-
-                    return new JSONObject(content.toString());
-                }
-            } else {
-                // Read error stream for more info
-                try (BufferedReader reader = new BufferedReader(
-                        new InputStreamReader(connection.getErrorStream()))) {
-                    StringBuilder errorContent = new StringBuilder();
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        errorContent.append(line);
-                    }
-                    System.err.println("GitHub API Error: " + errorContent.toString());
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to fetch release info: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return null;
+    private static CompletableFuture<JSONObject> fetchLatestReleaseAsync() {
+        HttpRequest request = HttpTransport.textRequest(VERSION_URL)
+                .header("Accept", "application/vnd.github.v3+json")
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        return HttpTransport.getStringAsync(request)
+                .thenApply(JSONObject::new)
+                .exceptionally(e -> {
+                    System.err.println("Failed to fetch release info: " + e.getMessage());
+                    return null;
+                });
     }
 
     private static String getDownloadUrl(JSONObject release) {
@@ -130,6 +113,17 @@ public class UpdateService {
         return "";
     }
 
+    private static String getChecksum(JSONObject release, String downloadUrl) {
+        var assets = release.getJSONArray("assets");
+        for (int i = 0; i < assets.length(); i++) {
+            JSONObject asset = assets.getJSONObject(i);
+            if (downloadUrl.equals(asset.optString("browser_download_url"))) {
+                return IntegrityCheck.parseDigest(asset.optString("digest", null));
+            }
+        }
+        return null;
+    }
+
     private static void saveVersionInfo(String version, String downloadUrl, String releaseNotes) {
         try (OutputStream output = new FileOutputStream(VERSION_FILE)) {
             Properties prop = new Properties();
@@ -143,63 +137,63 @@ public class UpdateService {
         }
     }
 
-    public static boolean downloadUpdate(String downloadUrl, JProgressBar progressBar, JLabel statusLabel) {
+    /**
+     * @param expectedSha256 published checksum of the update, or null to only check its length
+     */
+    public static boolean downloadUpdate(String downloadUrl, String expectedSha256, ProgressListener progress) {
         try {
-            URL url = new URL(downloadUrl);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("GET");
-            connection.setRequestProperty("User-Agent", "HaloServerManager");
-
-            int responseCode = connection.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                SwingUtilities.invokeLater(() ->
-                        statusLabel.setText("Download failed. HTTP code: " + responseCode));
+            HttpResponse<InputStream> response = HttpTransport.send(HttpTransport.request(downloadUrl).build());
+
+            int responseCode = response.statusCode();
+            if (responseCode != 200) {
+                HttpTransport.discard(response);
+                progress.onStatus("Download failed. HTTP code: " + responseCode);
                 return false;
             }
 
-            long fileSize = connection.getContentLengthLong();
+            long fileSize = HttpTransport.contentLength(response);
             String fileName = getFileNameFromUrl(downloadUrl);
             File tempFile = new File(fileName + ".tmp");
+            IntegrityCheck check = new IntegrityCheck(expectedSha256);
 
-            try (InputStream inputStream = connection.getInputStream();
-                 FileOutputStream outputStream = new FileOutputStream(tempFile)) {
-
-                byte[] buffer = new byte[4096];
-                long totalBytesRead = 0;
-                int bytesRead;
+            try {
+                try (InputStream inputStream = response.body();
+                     FileOutputStream outputStream = new FileOutputStream(tempFile)) {
 
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                    totalBytesRead += bytesRead;
+                    byte[] buffer = new byte[64 * 1024];
+                    long totalBytesRead = 0;
+                    int bytesRead;
 
-                    final long currentTotal = totalBytesRead;
-                    final long currentFileSize = fileSize;
+                    while ((bytesRead = inputStream.read(buffer)) != -1) {
+                        outputStream.write(buffer, 0, bytesRead);
+                        check.update(buffer, 0, bytesRead);
+                        totalBytesRead += bytesRead;
+                        progress.onProgress("Downloading update", totalBytesRead, fileSize);
+                    }
+                }
 
-                    SwingUtilities.invokeLater(() -> {
-                        int progress = fileSize > 0 ? (int) ((currentTotal * 100) / currentFileSize) : 0;
-                        progressBar.setValue(progress);
-                        statusLabel.setText(String.format("Downloading update: %d%% (%d/%d KB)",
-                                progress, currentTotal / 1024, currentFileSize / 1024));
-                    });
+                // Never hand a damaged executable to the update script
+                check.setExpectedLength(fileSize);
+                check.verify();
+            } catch (IOException | RuntimeException e) {
+                // Failed, cancelled or corrupt: don't leave a partial update behind
+                try {
+                    Files.deleteIfExists(tempFile.toPath());
+                } catch (IOException deleteError) {
+                    e.addSuppressed(deleteError);
                 }
+                throw e;
             }
 
-            connection.disconnect();
-
             // Rename temp file to final EXE
             File finalFile = new File(fileName);
             Files.move(tempFile.toPath(), finalFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 
-            SwingUtilities.invokeLater(() -> {
-                progressBar.setValue(100);
-                statusLabel.setText("Update downloaded successfully!");
-            });
-
+            progress.onStatus("Update downloaded successfully!");
             return true;
 
         } catch (Exception e) {
-            SwingUtilities.invokeLater(() ->
-                    statusLabel.setText("Download error: " + e.getMessage()));
+            progress.onStatus("Download error: " + e.getMessage());
             e.printStackTrace();
             return false;
         }
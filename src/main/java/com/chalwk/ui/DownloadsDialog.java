@@ -0,0 +1,203 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.ui;
+
+import com.chalwk.service.DownloadJob;
+import com.chalwk.service.DownloadManager;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists every job on the {@link DownloadManager} with its progress and lets
+ * the user pause, resume or cancel it.
+ */
+public class DownloadsDialog extends JDialog {
+    private static final int REFRESH_INTERVAL_MS = 250;
+
+    private final JobTableModel tableModel = new JobTableModel();
+    private final Runnable jobsListener = () -> SwingUtilities.invokeLater(this::reloadJobs);
+    private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> tableModel.refreshProgress());
+    private JTable jobTable;
+    private JButton pauseButton;
+    private JButton cancelButton;
+
+    public DownloadsDialog(Frame parent) {
+        super(parent, "Downloads", false);
+        initializeUI();
+
+        DownloadManager.addListener(jobsListener);
+        reloadJobs();
+        refreshTimer.start();
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                refreshTimer.stop();
+                DownloadManager.removeListener(jobsListener);
+            }
+        });
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout(10, 10));
+        setSize(600, 300);
+        setLocationRelativeTo(getOwner());
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        jobTable = new JTable(tableModel);
+        jobTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        jobTable.getColumnModel().getColumn(3).setCellRenderer(new ProgressRenderer());
+        jobTable.getSelectionModel().addListSelectionListener(e -> updateButtons());
+
+        JScrollPane scrollPane = new JScrollPane(jobTable);
+        scrollPane.setBorder(new EmptyBorder(10, 10, 0, 10));
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+
+        pauseButton = new JButton("Pause");
+        cancelButton = new JButton("Cancel");
+        JButton clearButton = new JButton("Clear Finished");
+        JButton closeButton = new JButton("Close");
+
+        pauseButton.addActionListener(e -> {
+            DownloadJob job = getSelectedJob();
+            if (job == null) return;
+            if (job.getState() == DownloadJob.State.PAUSED) {
+                job.resume();
+            } else {
+                job.pause();
+            }
+        });
+        cancelButton.addActionListener(e -> {
+            DownloadJob job = getSelectedJob();
+            if (job != null) job.cancel();
+        });
+        clearButton.addActionListener(e -> DownloadManager.clearFinished());
+        closeButton.addActionListener(e -> dispose());
+
+        buttonPanel.add(pauseButton);
+        buttonPanel.add(cancelButton);
+        buttonPanel.add(clearButton);
+        buttonPanel.add(closeButton);
+
+        add(buttonPanel, BorderLayout.SOUTH);
+        updateButtons();
+    }
+
+    private void reloadJobs() {
+        DownloadJob selected = getSelectedJob();
+        tableModel.setJobs(DownloadManager.getJobs());
+
+        int row = tableModel.indexOf(selected);
+        if (row >= 0) {
+            jobTable.setRowSelectionInterval(row, row);
+        }
+        updateButtons();
+    }
+
+    private DownloadJob getSelectedJob() {
+        int row = jobTable.getSelectedRow();
+        return row >= 0 ? tableModel.getJob(row) : null;
+    }
+
+    private void updateButtons() {
+        DownloadJob job = getSelectedJob();
+        boolean active = job != null && !job.getState().isFinished();
+
+        pauseButton.setEnabled(active);
+        cancelButton.setEnabled(active);
+        pauseButton.setText(job != null && job.getState() == DownloadJob.State.PAUSED ? "Resume" : "Pause");
+    }
+
+    private static class JobTableModel extends AbstractTableModel {
+        private static final String[] COLUMNS = {"Download", "Priority", "Status", "Progress"};
+        private List<DownloadJob> jobs = new ArrayList<>();
+
+        void setJobs(List<DownloadJob> jobs) {
+            this.jobs = jobs;
+            fireTableDataChanged();
+        }
+
+        void refreshProgress() {
+            if (!jobs.isEmpty()) {
+                fireTableRowsUpdated(0, jobs.size() - 1);
+            }
+        }
+
+        DownloadJob getJob(int row) {
+            return jobs.get(row);
+        }
+
+        int indexOf(DownloadJob job) {
+            return jobs.indexOf(job);
+        }
+
+        @Override
+        public int getRowCount() {
+            return jobs.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            DownloadJob job = jobs.get(row);
+            switch (column) {
+                case 0:
+                    return job.getName();
+                case 1:
+                    return job.getPriority();
+                case 2:
+                    return job.getState() == DownloadJob.State.RUNNING ? job.getPhase() : job.getState();
+                default:
+                    return job;
+            }
+        }
+    }
+
+    private static class ProgressRenderer extends JProgressBar implements TableCellRenderer {
+        ProgressRenderer() {
+            super(0, 100);
+            setStringPainted(true);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            DownloadJob job = (DownloadJob) value;
+            if (job.getState() == DownloadJob.State.COMPLETED) {
+                setValue(100);
+            } else if (job.getTotal() > 0) {
+                setValue((int) (job.getDone() * 100 / job.getTotal()));
+            } else {
+                setValue(0);
+            }
+            setString(getValue() + "%");
+            return this;
+        }
+    }
+}
@@ -10,52 +10,15 @@
 package com.chalwk.ui;
 
 import com.chalwk.service.FileService;
+import com.chalwk.ui.components.LuaSyntaxHighlighter;
 
 import javax.swing.*;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
 import javax.swing.text.*;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class FileEditorDialog extends JDialog {
-    // Lua keywords
-    private static final Set<String> LUA_KEYWORDS = new HashSet<>();
-    private static final Set<String> LUA_BUILTIN_FUNCTIONS = new HashSet<>();
-    private static final Set<String> LUA_CONSTANTS = new HashSet<>();
-
-    static {
-        // Lua keywords
-        String[] keywords = {
-                "and", "break", "do", "else", "elseif", "end", "false", "for", "function",
-                "if", "in", "local", "nil", "not", "or", "repeat", "return", "then", "true",
-                "until", "while"
-        };
-        Collections.addAll(LUA_KEYWORDS, keywords);
-
-        // Lua built-in functions
-        String[] builtins = {
-                "print", "type", "pairs", "ipairs", "next", "tostring", "tonumber",
-                "getmetatable", "setmetatable", "rawget", "rawset", "rawlen",
-                "require", "dofile", "loadfile", "load", "assert", "error",
-                "pcall", "xpcall", "select", "unpack", "table", "string", "math",
-                "io", "os", "debug", "coroutine", "package"
-        };
-        Collections.addAll(LUA_BUILTIN_FUNCTIONS, builtins);
-
-        // Lua constants
-        String[] constants = {
-                "nil", "true", "false"
-        };
-        Collections.addAll(LUA_CONSTANTS, constants);
-    }
-
     private final File file;
     private final boolean isLuaFile;
     private JTextPane luaTextPane;
@@ -121,125 +84,18 @@ public class FileEditorDialog extends JDialog {
         StyleConstants.setTabSet(attributes, tabSet);
         luaTextPane.setParagraphAttributes(attributes, false);
 
-        // Document listener for real-time syntax highlighting
-        luaTextPane.getDocument().addDocumentListener(new DocumentListener() {
-            @Override
-            public void insertUpdate(DocumentEvent e) {
-                SwingUtilities.invokeLater(() -> applyLuaSyntaxHighlighting());
-            }
-
-            @Override
-            public void removeUpdate(DocumentEvent e) {
-                SwingUtilities.invokeLater(() -> applyLuaSyntaxHighlighting());
-            }
-
-            @Override
-            public void changedUpdate(DocumentEvent e) {
-                // Not needed for plain text
-            }
-        });
+        // Re-highlights only what each edit affects
+        LuaSyntaxHighlighter.install(luaTextPane);
 
         scrollPane = new JScrollPane(luaTextPane);
         add(scrollPane, BorderLayout.CENTER);
     }
 
-    private void applyLuaSyntaxHighlighting() {
-        if (luaTextPane == null) return;
-
-        StyledDocument doc = luaTextPane.getStyledDocument();
-        String text;
-
-        try {
-            text = doc.getText(0, doc.getLength());
-        } catch (BadLocationException e) {
-            return;
-        }
-
-        // Clear existing styles
-        Style defaultStyle = doc.addStyle("default", null);
-        StyleConstants.setForeground(defaultStyle, Color.BLACK);
-        doc.setCharacterAttributes(0, text.length(), defaultStyle, true);
-
-        // Create styles
-        Style keywordStyle = doc.addStyle("keyword", null);
-        StyleConstants.setForeground(keywordStyle, new Color(0, 0, 128)); // Dark blue
-        StyleConstants.setBold(keywordStyle, true);
-
-        Style commentStyle = doc.addStyle("comment", null);
-        StyleConstants.setForeground(commentStyle, new Color(0, 128, 0)); // Green
-        StyleConstants.setItalic(commentStyle, true);
-
-        Style stringStyle = doc.addStyle("string", null);
-        StyleConstants.setForeground(stringStyle, new Color(128, 0, 0)); // Dark red
-
-        Style numberStyle = doc.addStyle("number", null);
-        StyleConstants.setForeground(numberStyle, new Color(0, 0, 255)); // Blue
-
-        Style functionStyle = doc.addStyle("function", null);
-        StyleConstants.setForeground(functionStyle, new Color(128, 0, 128)); // Purple
-        StyleConstants.setBold(functionStyle, true);
-
-        Style constantStyle = doc.addStyle("constant", null);
-        StyleConstants.setForeground(constantStyle, new Color(0, 128, 128)); // Teal
-
-        // Apply highlighting patterns
-        highlightPattern(doc, text, "--.*$", commentStyle); // Single line comments
-        highlightPattern(doc, text, "--\\[\\[.*?\\]\\]", commentStyle); // Multi-line comments
-        highlightPattern(doc, text, "\"[^\"]*\"", stringStyle); // Double quoted strings
-        highlightPattern(doc, text, "'[^']*'", stringStyle); // Single quoted strings
-        highlightPattern(doc, text, "\\b[0-9]+(\\.[0-9]+)?\\b", numberStyle); // Numbers
-
-        // Highlight keywords
-        for (String keyword : LUA_KEYWORDS) {
-            highlightWord(doc, text, "\\b" + keyword + "\\b", keywordStyle);
-        }
-
-        // Highlight built-in functions
-        for (String builtin : LUA_BUILTIN_FUNCTIONS) {
-            highlightWord(doc, text, "\\b" + builtin + "\\b", functionStyle);
-        }
-
-        // Highlight constants
-        for (String constant : LUA_CONSTANTS) {
-            highlightWord(doc, text, "\\b" + constant + "\\b", constantStyle);
-        }
-
-        // Highlight function definitions
-        highlightPattern(doc, text, "\\bfunction\\s+([a-zA-Z_][a-zA-Z0-9_]*)", functionStyle);
-    }
-
-    private void highlightPattern(StyledDocument doc, String text, String pattern, Style style) {
-        try {
-            Pattern p = Pattern.compile(pattern, Pattern.MULTILINE);
-            Matcher m = p.matcher(text);
-
-            while (m.find()) {
-                doc.setCharacterAttributes(m.start(), m.end() - m.start(), style, false);
-            }
-        } catch (Exception e) {
-            // Ignore pattern errors
-        }
-    }
-
-    private void highlightWord(StyledDocument doc, String text, String wordPattern, Style style) {
-        try {
-            Pattern pattern = Pattern.compile(wordPattern);
-            Matcher matcher = pattern.matcher(text);
-            while (matcher.find()) {
-                doc.setCharacterAttributes(matcher.start(), matcher.end() - matcher.start(), style, false);
-            }
-        } catch (Exception e) {
-            // Ignore pattern errors
-        }
-    }
-
     private void loadFileContent() {
         try {
             String content = FileService.readFileContent(file);
             if (isLuaFile) {
                 luaTextPane.setText(content);
-                // Apply initial syntax highlighting
-                SwingUtilities.invokeLater(this::applyLuaSyntaxHighlighting);
             } else {
                 plainTextArea.setText(content);
             }
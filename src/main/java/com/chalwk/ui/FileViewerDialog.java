@@ -0,0 +1,263 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.ui;
+
+import com.chalwk.service.PagedTextFile;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A read-only viewer for files too large for {@link FileEditorDialog}, such
+ * as SAPP and chat logs. Lines are read a page at a time as they scroll
+ * into view, and only a few pages are kept, so a file of any size opens
+ * immediately and uses the same memory.
+ */
+public class FileViewerDialog extends JDialog {
+    private static final int PAGE_LINES = 200;
+    private static final int MAX_CACHED_PAGES = 16;
+
+    private final File file;
+    private final ExecutorService reader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "file-viewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private PagedTextFile pagedFile;
+    private PagedTextView textView;
+    private JLabel statusLabel;
+
+    public FileViewerDialog(Frame parent, File file) {
+        super(parent, "Viewing: " + file.getName(), false);
+        this.file = file;
+        initializeUI();
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                closeFile();
+            }
+        });
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+        setSize(800, 600);
+        setLocationRelativeTo(getOwner());
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        textView = new PagedTextView();
+        JScrollPane scrollPane = new JScrollPane(textView);
+        scrollPane.getViewport().setBackground(Color.WHITE);
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        statusLabel = new JLabel("Opening...");
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(0, 8, 0, 0));
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dispose());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        buttonPanel.add(closeButton);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Shows the file and indexes it in the background; lines can be viewed
+     * as soon as the index reaches them.
+     */
+    public void open() {
+        try {
+            pagedFile = PagedTextFile.open(file);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(getOwner(),
+                    "Error reading file: " + e.getMessage(),
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            dispose();
+            return;
+        }
+
+        // Its own thread, so pages can be read while a big file is indexed
+        Thread indexer = new Thread(() -> {
+            try {
+                pagedFile.buildIndex(lines -> SwingUtilities.invokeLater(() -> {
+                    textView.setLineCount(lines);
+                    updateStatus();
+                }));
+            } catch (IOException e) {
+                SwingUtilities.invokeLater(() -> {
+                    // Closing the dialog closes the file under the indexer
+                    if (!isDisplayable()) return;
+                    statusLabel.setText("Error reading file: " + e.getMessage());
+                });
+            }
+        }, "file-viewer-index");
+        indexer.setDaemon(true);
+        indexer.start();
+
+        setVisible(true);
+    }
+
+    private void updateStatus() {
+        String size = String.format("%.1f MB", pagedFile.getSize() / (1024.0 * 1024.0));
+        statusLabel.setText(pagedFile.isIndexed()
+                ? String.format("%,d lines, %s (read-only)", pagedFile.getLineCount(), size)
+                : String.format("Indexing... %,d lines so far of %s", pagedFile.getLineCount(), size));
+    }
+
+    private void closeFile() {
+        reader.shutdownNow();
+        // Indexing may still be running; closing the file stops it
+        if (pagedFile != null) {
+            try {
+                pagedFile.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Paints the visible lines straight from the page cache. Pages that
+     * aren't loaded yet are requested and painted when they arrive.
+     */
+    private class PagedTextView extends JComponent implements Scrollable {
+        private final Map<Integer, List<String>> pages = new LinkedHashMap<>(MAX_CACHED_PAGES, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<String>> eldest) {
+                return size() > MAX_CACHED_PAGES;
+            }
+        };
+        private final Set<Integer> loadingPages = new HashSet<>();
+        private int lineCount;
+        private int longestLine = 80;
+
+        PagedTextView() {
+            setFont(new Font("Consolas", Font.PLAIN, 13));
+            setOpaque(true);
+            setBackground(Color.WHITE);
+        }
+
+        void setLineCount(int lineCount) {
+            if (lineCount == this.lineCount) return;
+            // The last page may have been cut short by the index so far
+            pages.remove((this.lineCount - 1) / PAGE_LINES);
+            this.lineCount = lineCount;
+            revalidate();
+            repaint();
+        }
+
+        private int lineHeight() {
+            return getFontMetrics(getFont()).getHeight();
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            FontMetrics metrics = getFontMetrics(getFont());
+            // Component heights are ints; beyond that the end of the file is out of reach
+            long height = (long) lineCount * metrics.getHeight();
+            return new Dimension(metrics.charWidth('m') * longestLine + 16, (int) Math.min(height, Integer.MAX_VALUE));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Rectangle clip = g.getClipBounds();
+            g.setColor(getBackground());
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+            FontMetrics metrics = g.getFontMetrics(getFont());
+            int lineHeight = metrics.getHeight();
+            int first = clip.y / lineHeight;
+            int last = Math.min(lineCount - 1, (clip.y + clip.height) / lineHeight);
+
+            g.setFont(getFont());
+            g.setColor(Color.BLACK);
+            for (int line = first; line <= last; line++) {
+                List<String> page = pages.get(line / PAGE_LINES);
+                if (page == null) {
+                    requestPage(line / PAGE_LINES);
+                    continue;
+                }
+                int index = line % PAGE_LINES;
+                if (index < page.size()) {
+                    g.drawString(page.get(index), 8, line * lineHeight + metrics.getAscent());
+                }
+            }
+        }
+
+        private void requestPage(int page) {
+            if (!loadingPages.add(page)) return;
+
+            reader.execute(() -> {
+                List<String> lines;
+                try {
+                    lines = new ArrayList<>(pagedFile.readLines(page * PAGE_LINES, PAGE_LINES));
+                    // drawString doesn't expand tabs
+                    lines.replaceAll(line -> line.replace("\t", "    "));
+                } catch (IOException e) {
+                    System.err.println("Failed to read " + file + ": " + e.getMessage());
+                    lines = List.of();
+                }
+
+                List<String> loaded = lines;
+                SwingUtilities.invokeLater(() -> {
+                    loadingPages.remove(page);
+                    // A page the index hasn't fully reached yet is read again once it has
+                    if (loaded.size() < PAGE_LINES && page * PAGE_LINES + loaded.size() < lineCount) return;
+                    pages.put(page, loaded);
+
+                    int longest = loaded.stream().mapToInt(String::length).max().orElse(0);
+                    if (longest > longestLine) {
+                        longestLine = longest;
+                        revalidate();
+                    }
+                    int lineHeight = lineHeight();
+                    repaint(0, page * PAGE_LINES * lineHeight, getWidth(), PAGE_LINES * lineHeight);
+                });
+            });
+        }
+
+        @Override
+        public Dimension getPreferredScrollableViewportSize() {
+            return getPreferredSize();
+        }
+
+        @Override
+        public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return orientation == SwingConstants.VERTICAL ? lineHeight() : getFontMetrics(getFont()).charWidth('m');
+        }
+
+        @Override
+        public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+            return orientation == SwingConstants.VERTICAL
+                    ? Math.max(lineHeight(), visibleRect.height - lineHeight()) : visibleRect.width;
+        }
+
+        @Override
+        public boolean getScrollableTracksViewportWidth() {
+            return false;
+        }
+
+        @Override
+        public boolean getScrollableTracksViewportHeight() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.ui;
+
+import com.chalwk.service.LogTailer;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultCaret;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Shows a log file as it grows. The most recent lines are kept in a bounded
+ * buffer; an optional regex filter is applied to each new line as it
+ * arrives, and only re-runs over the buffer when the filter itself changes.
+ */
+public class LogTailDialog extends JDialog {
+    private static final int MAX_LINES = 10_000;
+    private static final Color INVALID_FILTER_COLOR = new Color(255, 200, 200);
+
+    private final File file;
+    // The last MAX_LINES lines, oldest first
+    private final ArrayDeque<String> recentLines = new ArrayDeque<>(MAX_LINES);
+    private LogTailer tailer;
+    private JTextArea logArea;
+    private JTextField filterField;
+    private JCheckBox autoScrollBox;
+    private JLabel statusLabel;
+    private Pattern filter;
+    private int shownLines;
+
+    public LogTailDialog(Frame parent, File file) {
+        super(parent, "Following: " + file.getName(), false);
+        this.file = file;
+        initializeUI();
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                if (tailer != null) tailer.close();
+            }
+        });
+    }
+
+    private void initializeUI() {
+        setLayout(new BorderLayout());
+        setSize(800, 600);
+        setLocationRelativeTo(getOwner());
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+
+        JPanel filterPanel = new JPanel(new BorderLayout(5, 0));
+        filterPanel.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        filterField = new JTextField();
+        filterField.setToolTipText("Only show lines matching this regular expression");
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                updateFilter();
+            }
+        });
+
+        autoScrollBox = new JCheckBox("Auto-scroll", true);
+        JButton clearButton = new JButton("Clear");
+        clearButton.addActionListener(e -> {
+            recentLines.clear();
+            showFilteredLines();
+        });
+
+        JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        optionsPanel.add(autoScrollBox);
+        optionsPanel.add(clearButton);
+        filterPanel.add(new JLabel("Filter:"), BorderLayout.WEST);
+        filterPanel.add(filterField, BorderLayout.CENTER);
+        filterPanel.add(optionsPanel, BorderLayout.EAST);
+        add(filterPanel, BorderLayout.NORTH);
+
+        logArea = new JTextArea();
+        logArea.setEditable(false);
+        logArea.setFont(new Font("Consolas", Font.PLAIN, 13));
+        logArea.setTabSize(4);
+        // Scrolling is up to the auto-scroll option, not the caret
+        ((DefaultCaret) logArea.getCaret()).setUpdatePolicy(DefaultCaret.NEVER_UPDATE);
+        add(new JScrollPane(logArea), BorderLayout.CENTER);
+
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        statusLabel = new JLabel("Following " + file.getAbsolutePath());
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(0, 8, 0, 0));
+        JButton closeButton = new JButton("Close");
+        closeButton.addActionListener(e -> dispose());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        buttonPanel.add(closeButton);
+        bottomPanel.add(statusLabel, BorderLayout.CENTER);
+        bottomPanel.add(buttonPanel, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Shows the dialog and starts following the file.
+     */
+    public void open() {
+        setVisible(true);
+        tailer = LogTailer.start(file, new LogTailer.Listener() {
+            @Override
+            public void linesAppended(List<String> lines) {
+                SwingUtilities.invokeLater(() -> appendLines(lines));
+            }
+
+            @Override
+            public void fileReset(String reason) {
+                SwingUtilities.invokeLater(() -> appendLines(List.of("----- " + reason + " -----")));
+            }
+        });
+    }
+
+    private void appendLines(List<String> lines) {
+        if (!isDisplayable()) return;
+
+        StringBuilder shown = new StringBuilder();
+        int added = 0;
+        for (String line : lines) {
+            if (recentLines.size() == MAX_LINES) {
+                recentLines.removeFirst();
+            }
+            recentLines.addLast(line);
+
+            // Only the new lines are tested against the filter
+            if (matches(line)) {
+                shown.append(line).append('\n');
+                added++;
+            }
+        }
+
+        if (added > 0) {
+            logArea.append(shown.toString());
+            shownLines += added;
+            trimShownLines();
+            scrollToEnd();
+        }
+        statusLabel.setText(String.format("Following %s (%,d of %,d buffered lines shown)",
+                file.getAbsolutePath(), shownLines, recentLines.size()));
+    }
+
+    // The text area never holds more than the buffer does
+    private void trimShownLines() {
+        int excess = shownLines - MAX_LINES;
+        if (excess <= 0) return;
+        try {
+            logArea.getDocument().remove(0, logArea.getLineStartOffset(excess));
+            shownLines -= excess;
+        } catch (BadLocationException e) {
+            // The area holds at least the counted lines
+        }
+    }
+
+    private void updateFilter() {
+        String text = filterField.getText();
+        try {
+            filter = text.isEmpty() ? null : Pattern.compile(text, Pattern.CASE_INSENSITIVE);
+            filterField.setBackground(UIManager.getColor("TextField.background"));
+        } catch (PatternSyntaxException e) {
+            // Keep showing the last valid filter while the expression is being typed
+            filterField.setBackground(INVALID_FILTER_COLOR);
+            return;
+        }
+        showFilteredLines();
+    }
+
+    private void showFilteredLines() {
+        StringBuilder shown = new StringBuilder();
+        shownLines = 0;
+        for (String line : recentLines) {
+            if (matches(line)) {
+                shown.append(line).append('\n');
+                shownLines++;
+            }
+        }
+        logArea.setText(shown.toString());
+        scrollToEnd();
+    }
+
+    private boolean matches(String line) {
+        return filter == null || filter.matcher(line).find();
+    }
+
+    private void scrollToEnd() {
+        if (autoScrollBox.isSelected()) {
+            logArea.setCaretPosition(logArea.getDocument().getLength());
+        }
+    }
+}
@@ -10,7 +10,8 @@
 package com.chalwk.ui;
 
 import com.chalwk.model.ServerType;
-import com.chalwk.model.UpdateConfig;
+import com.chalwk.service.ArtifactCache;
+import com.chalwk.service.HttpTransport;
 import com.chalwk.service.ServerService;
 import com.chalwk.service.UpdateService;
 import com.chalwk.ui.components.ScriptBrowserPanel;
@@ -28,27 +29,46 @@ public class MainFrame extends JFrame {
     private ServerPanel hpcPanel;
     private ServerPanel hcePanel;
     private JMenuItem updateMenuItem;
+    private DownloadsDialog downloadsDialog;
 
     public MainFrame() {
         preferencesManager = new PreferencesManager();
+        ArtifactCache.setMaxSize(preferencesManager.getArtifactCacheMaxSize());
+        HttpTransport.setTimeouts(preferencesManager.getConnectTimeout(), preferencesManager.getRequestTimeout());
         initializeUI();
         loadPreviousConfigurations();
         checkForUpdatesOnStartup();
     }
 
-    public void refreshFileTrees() {
-        hpcPanel.refreshFileTree();
-        hcePanel.refreshFileTree();
-    }
-
     private void initializeUI() {
         setTitle("Halo Server Manager");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setMinimumSize(new Dimension(1000, 800));
 
         JMenuBar menuBar = new JMenuBar();
+        JMenu downloadsMenu = new JMenu("Downloads");
         JMenu helpMenu = new JMenu("Help");
 
+        JMenuItem downloadsMenuItem = new JMenuItem("Show Downloads");
+        downloadsMenuItem.addActionListener(e -> showDownloadsDialog());
+        downloadsMenu.add(downloadsMenuItem);
+        downloadsMenu.addSeparator();
+
+        // Read when an install starts, so a change applies to the next one
+        JCheckBoxMenuItem streamExtractItem = new JCheckBoxMenuItem("Extract While Downloading",
+                preferencesManager.getStreamingExtractionEnabled());
+        streamExtractItem.setToolTipText("Unpack server packages as they arrive instead of downloading the archive first");
+        streamExtractItem.addActionListener(e ->
+                preferencesManager.setStreamingExtractionEnabled(streamExtractItem.isSelected()));
+        downloadsMenu.add(streamExtractItem);
+
+        JCheckBoxMenuItem incrementalItem = new JCheckBoxMenuItem("Only Rewrite Changed Files",
+                preferencesManager.getIncrementalExtractionEnabled());
+        incrementalItem.setToolTipText("When reinstalling, leave files that already match the package untouched");
+        incrementalItem.addActionListener(e ->
+                preferencesManager.setIncrementalExtractionEnabled(incrementalItem.isSelected()));
+        downloadsMenu.add(incrementalItem);
+
         updateMenuItem = new JMenuItem("Check for Updates");
         JMenuItem aboutMenuItem = new JMenuItem("About");
 
@@ -59,6 +79,7 @@ public class MainFrame extends JFrame {
         helpMenu.addSeparator();
         helpMenu.add(aboutMenuItem);
 
+        menuBar.add(downloadsMenu);
         menuBar.add(helpMenu);
         setJMenuBar(menuBar);
 
@@ -103,26 +124,20 @@ public class MainFrame extends JFrame {
 
         if (checkOnStartup) {
             // Delay the check to let the UI load first
-            Timer timer = new Timer(3000, e -> {
-                new Thread(() -> {
-                    try {
-                        UpdateConfig updateConfig = UpdateService.checkForUpdates();
-
-                        if (updateConfig.isUpdateAvailable()) {
-                            SwingUtilities.invokeLater(() -> {
-                                new UpdateDialog(this, updateConfig).setVisible(true);
-                            });
-                        } else {
-                            System.out.println("No updates available. Current: " +
-                                    updateConfig.getCurrentVersion() + ", Latest: " +
-                                    updateConfig.getLatestVersion());
-                        }
-                    } catch (Exception ex) {
-                        System.err.println("Update check failed: " + ex.getMessage());
-                        // Don't show error to user for automatic checks
-                    }
-                }).start();
-            });
+            Timer timer = new Timer(3000, e -> UpdateService.checkForUpdatesAsync().whenComplete((updateConfig, ex) -> {
+                if (ex != null) {
+                    System.err.println("Update check failed: " + ex.getMessage());
+                    // Don't show error to user for automatic checks
+                } else if (updateConfig.isUpdateAvailable()) {
+                    SwingUtilities.invokeLater(() -> {
+                        new UpdateDialog(this, updateConfig).setVisible(true);
+                    });
+                } else {
+                    System.out.println("No updates available. Current: " +
+                            updateConfig.getCurrentVersion() + ", Latest: " +
+                            updateConfig.getLatestVersion());
+                }
+            }));
             timer.setRepeats(false);
             timer.start();
         }
@@ -140,37 +155,34 @@ public class MainFrame extends JFrame {
             checkingDialog.setVisible(true);
         });
 
-        new Thread(() -> {
-            try {
-                UpdateConfig updateConfig = UpdateService.checkForUpdates();
-
-                SwingUtilities.invokeLater(() -> {
-                    checkingDialog.dispose();
-                    updateMenuItem.setEnabled(true);
-
-                    if (updateConfig.isUpdateAvailable()) {
-                        new UpdateDialog(this, updateConfig).setVisible(true);
-                    } else {
-                        JOptionPane.showMessageDialog(this,
-                                "You are running the latest version (v" +
-                                        updateConfig.getCurrentVersion() + ")!",
-                                "No Updates Available",
-                                JOptionPane.INFORMATION_MESSAGE);
-                    }
-                });
-            } catch (Exception e) {
-                SwingUtilities.invokeLater(() -> {
-                    checkingDialog.dispose();
-                    updateMenuItem.setEnabled(true);
-
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to check for updates: " + e.getMessage() +
-                                    "\n\nPlease check your internet connection and try again.",
-                            "Update Check Failed",
-                            JOptionPane.WARNING_MESSAGE);
-                });
+        UpdateService.checkForUpdatesAsync().whenComplete((updateConfig, e) -> SwingUtilities.invokeLater(() -> {
+            checkingDialog.dispose();
+            updateMenuItem.setEnabled(true);
+
+            if (e != null) {
+                JOptionPane.showMessageDialog(this,
+                        "Failed to check for updates: " + e.getMessage() +
+                                "\n\nPlease check your internet connection and try again.",
+                        "Update Check Failed",
+                        JOptionPane.WARNING_MESSAGE);
+            } else if (updateConfig.isUpdateAvailable()) {
+                new UpdateDialog(this, updateConfig).setVisible(true);
+            } else {
+                JOptionPane.showMessageDialog(this,
+                        "You are running the latest version (v" +
+                                updateConfig.getCurrentVersion() + ")!",
+                        "No Updates Available",
+                        JOptionPane.INFORMATION_MESSAGE);
             }
-        }).start();
+        }));
+    }
+
+    private void showDownloadsDialog() {
+        if (downloadsDialog == null || !downloadsDialog.isDisplayable()) {
+            downloadsDialog = new DownloadsDialog(this);
+        }
+        downloadsDialog.setVisible(true);
+        downloadsDialog.toFront();
     }
 
     private void showAboutDialog() {
@@ -10,7 +10,10 @@
 package com.chalwk.ui;
 
 import com.chalwk.model.UpdateConfig;
+import com.chalwk.service.DownloadJob;
+import com.chalwk.service.DownloadManager;
 import com.chalwk.service.UpdateService;
+import com.chalwk.ui.components.SwingProgressListener;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -127,36 +130,36 @@ public class UpdateDialog extends JDialog {
             // Show progress panel
             ((JPanel) getContentPane().getComponent(1)).getComponent(1).setVisible(true);
 
-            // Download in background thread
-            new Thread(() -> {
-                boolean success = UpdateService.downloadUpdate(
-                        updateConfig.getDownloadUrl(), progressBar, statusLabel);
-
-                SwingUtilities.invokeLater(() -> {
-                    if (success) {
-                        System.out.println("Update downloaded successfully!");
-                        int result = JOptionPane.showConfirmDialog(UpdateDialog.this,
-                                "Update downloaded successfully! The application will now restart to complete the update.\n\n" +
-                                        "Click OK to continue, or Cancel to install later.",
-                                "Update Ready", JOptionPane.OK_CANCEL_OPTION);
-
-                        if (result == JOptionPane.OK_OPTION) {
-                            String fileName = updateConfig.getDownloadUrl().substring(
-                                    updateConfig.getDownloadUrl().lastIndexOf("/") + 1);
-                            UpdateService.createUpdateScript(new java.io.File(fileName));
-                        } else {
-                            dispose();
-                        }
+            DownloadJob job = DownloadManager.submit("Update v" + updateConfig.getLatestVersion(),
+                    updateConfig.getDownloadUrl(), DownloadJob.Priority.INTERACTIVE,
+                    SwingProgressListener.create(progressBar, statusLabel),
+                    progress -> UpdateService.downloadUpdate(
+                            updateConfig.getDownloadUrl(), updateConfig.getChecksum(), progress));
+
+            job.result().thenAccept(success -> SwingUtilities.invokeLater(() -> {
+                if (success) {
+                    System.out.println("Update downloaded successfully!");
+                    int result = JOptionPane.showConfirmDialog(UpdateDialog.this,
+                            "Update downloaded successfully! The application will now restart to complete the update.\n\n" +
+                                    "Click OK to continue, or Cancel to install later.",
+                            "Update Ready", JOptionPane.OK_CANCEL_OPTION);
+
+                    if (result == JOptionPane.OK_OPTION) {
+                        String fileName = updateConfig.getDownloadUrl().substring(
+                                updateConfig.getDownloadUrl().lastIndexOf("/") + 1);
+                        UpdateService.createUpdateScript(new java.io.File(fileName));
                     } else {
-                        JOptionPane.showMessageDialog(UpdateDialog.this,
-                                "Failed to download update. Please try again later.\n\n" +
-                                        "You can also download the update manually from:\n" +
-                                        updateConfig.getDownloadUrl(),
-                                "Download Failed", JOptionPane.ERROR_MESSAGE);
                         dispose();
                     }
-                });
-            }).start();
+                } else {
+                    JOptionPane.showMessageDialog(UpdateDialog.this,
+                            "Failed to download update. Please try again later.\n\n" +
+                                    "You can also download the update manually from:\n" +
+                                    updateConfig.getDownloadUrl(),
+                            "Download Failed", JOptionPane.ERROR_MESSAGE);
+                    dispose();
+                }
+            }));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,332 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.ui.components;
+
+import com.chalwk.service.FileService;
+
+import javax.swing.*;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeWillExpandListener;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * A file tree that lists a directory only when it is first expanded. The
+ * listing runs on a background thread while the node shows a placeholder;
+ * once loaded, a directory keeps its children, so collapsing and expanding
+ * it again costs nothing.
+ * <p>
+ * Every loaded directory is registered with a {@link WatchService}, and
+ * files created, deleted or modified there are applied to the tree as
+ * individual node events, so expansion and selection survive. If the
+ * watcher loses events, the affected directory is listed again and the
+ * difference applied the same way.
+ * <p>
+ * Nodes carry {@link FileService.FileNode} user objects, so
+ * {@link FileService#getFileFromTreePath} works on them unchanged.
+ * Call {@link #close} when the model is no longer shown.
+ */
+public class LazyFileTreeModel extends DefaultTreeModel {
+
+    private static final ExecutorService loader = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "file-tree-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Comparator<DefaultMutableTreeNode> ORDER = (n1, n2) -> {
+        // Sort files: directories first, then files
+        boolean d1 = n1 instanceof DirectoryNode;
+        boolean d2 = n2 instanceof DirectoryNode;
+        if (d1 && !d2) return -1;
+        if (!d1 && d2) return 1;
+        return n1.toString().compareToIgnoreCase(n2.toString());
+    };
+
+    private final File rootDir;
+    private final Map<WatchKey, DirectoryNode> watchedDirectories = new ConcurrentHashMap<>();
+    private WatchService watchService;
+
+    public LazyFileTreeModel(File rootDir) {
+        super(new DirectoryNode(rootDir), true);
+        this.rootDir = rootDir;
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Thread watcher = new Thread(this::watch, "file-tree-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } catch (IOException e) {
+            // The tree still works; it just needs manual refreshes
+            System.err.println("File watching unavailable: " + e.getMessage());
+        }
+
+        // JTree shows the root's children without firing an expansion event
+        loadChildren((DirectoryNode) getRoot());
+    }
+
+    public File getRootDirectory() {
+        return rootDir;
+    }
+
+    /**
+     * Makes {@code tree} load each directory as it is about to be expanded,
+     * for whichever lazy model it shows at the time. Call once per tree.
+     */
+    public static void install(JTree tree) {
+        tree.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent event) {
+                Object node = event.getPath().getLastPathComponent();
+                if (tree.getModel() instanceof LazyFileTreeModel && node instanceof DirectoryNode) {
+                    ((LazyFileTreeModel) tree.getModel()).loadChildren((DirectoryNode) node);
+                }
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent event) {
+            }
+        });
+    }
+
+    /**
+     * Lists every loaded directory again and applies the differences. Only
+     * needed when changes were missed, e.g. on file systems that don't
+     * report them.
+     */
+    public void refresh() {
+        for (Enumeration<?> nodes = ((DirectoryNode) getRoot()).breadthFirstEnumeration(); nodes.hasMoreElements(); ) {
+            Object node = nodes.nextElement();
+            if (node instanceof DirectoryNode && ((DirectoryNode) node).loaded) {
+                reload((DirectoryNode) node);
+            }
+        }
+    }
+
+    /**
+     * Stops watching the file system.
+     */
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private void loadChildren(DirectoryNode node) {
+        if (node.loadRequested) return;
+        node.loadRequested = true;
+
+        DefaultMutableTreeNode placeholder = new DefaultMutableTreeNode("Loading...", false);
+        node.add(placeholder);
+        nodesWereInserted(node, new int[]{0});
+
+        loader.execute(() -> {
+            // Watch before listing, so nothing created in between is missed
+            watch(node);
+            List<DefaultMutableTreeNode> children = listChildren(node.getFile());
+            SwingUtilities.invokeLater(() -> {
+                if (!isAttached(node)) return;
+
+                node.removeAllChildren();
+                children.forEach(node::add);
+                node.loaded = true;
+                nodeStructureChanged(node);
+            });
+        });
+    }
+
+    private void reload(DirectoryNode node) {
+        loader.execute(() -> {
+            List<DefaultMutableTreeNode> children = listChildren(node.getFile());
+            SwingUtilities.invokeLater(() -> {
+                if (isAttached(node) && node.loaded) {
+                    applyListing(node, children);
+                }
+            });
+        });
+    }
+
+    /**
+     * Brings {@code node}'s children in line with a fresh listing, leaving
+     * nodes that still exist (and whatever is expanded below them) alone.
+     */
+    private void applyListing(DirectoryNode node, List<DefaultMutableTreeNode> listing) {
+        Set<String> names = listing.stream().map(Object::toString).collect(Collectors.toSet());
+        for (int i = node.getChildCount() - 1; i >= 0; i--) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) node.getChildAt(i);
+            if (!names.contains(child.toString())) {
+                removeNodeFromParent(child);
+            }
+        }
+        for (DefaultMutableTreeNode child : listing) {
+            if (findChild(node, child.toString()) == null) {
+                insertSorted(node, child);
+            }
+        }
+    }
+
+    // Runs on the loader thread; the nodes aren't part of the tree yet
+    private static List<DefaultMutableTreeNode> listChildren(File directory) {
+        // Already in display order
+        return FileService.listDirectory(directory).stream()
+                .map(LazyFileTreeModel::createNode)
+                .collect(Collectors.toList());
+    }
+
+    private static DefaultMutableTreeNode createNode(FileService.FileNode fileNode) {
+        return fileNode.isDirectory() ? new DirectoryNode(fileNode)
+                : new DefaultMutableTreeNode(fileNode, false);
+    }
+
+    // File watching
+
+    private void watch(DirectoryNode node) {
+        if (watchService == null) return;
+        try {
+            WatchKey key = node.getFile().toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            // Registering a directory again returns its existing key
+            watchedDirectories.put(key, node);
+        } catch (ClosedWatchServiceException e) {
+            // The model has been closed
+        } catch (IOException e) {
+            System.err.println("Cannot watch " + node.getFile() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The watcher thread: turns each batch of events for a directory into
+     * one update on the EDT.
+     */
+    private void watch() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                return;
+            }
+
+            DirectoryNode node = watchedDirectories.get(key);
+            List<WatchEvent<?>> events = key.pollEvents();
+            if (!key.reset()) {
+                // The directory itself is gone; its parent reports the delete
+                watchedDirectories.remove(key);
+            }
+            if (node == null) continue;
+
+            boolean overflow = false;
+            List<DefaultMutableTreeNode> created = new ArrayList<>();
+            Set<String> deleted = new HashSet<>();
+            Map<String, FileService.FileNode> modified = new HashMap<>();
+
+            for (WatchEvent<?> event : events) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    overflow = true;
+                    continue;
+                }
+
+                String name = event.context().toString();
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    deleted.remove(name);
+                    // Stat here rather than on the EDT
+                    created.add(createNode(FileService.readNode(new File(node.getFile(), name))));
+                } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                    created.removeIf(child -> child.toString().equals(name));
+                    deleted.add(name);
+                } else {
+                    // Fresh attributes, so the node's size and time stay current
+                    modified.put(name, FileService.readNode(new File(node.getFile(), name)));
+                }
+            }
+
+            boolean relist = overflow;
+            SwingUtilities.invokeLater(() -> {
+                if (!isAttached(node)) {
+                    key.cancel();
+                    watchedDirectories.remove(key);
+                    return;
+                }
+                if (!node.loaded) return;
+
+                if (relist) {
+                    reload(node);
+                    return;
+                }
+                for (String name : deleted) {
+                    DefaultMutableTreeNode child = findChild(node, name);
+                    if (child != null) removeNodeFromParent(child);
+                }
+                for (DefaultMutableTreeNode child : created) {
+                    if (findChild(node, child.toString()) == null) insertSorted(node, child);
+                }
+                modified.forEach((name, fileNode) -> {
+                    DefaultMutableTreeNode child = findChild(node, name);
+                    if (child != null && !(child instanceof DirectoryNode)) {
+                        child.setUserObject(fileNode);
+                        nodeChanged(child);
+                    }
+                });
+            });
+        }
+    }
+
+    private void insertSorted(DirectoryNode parent, DefaultMutableTreeNode child) {
+        int index = 0;
+        while (index < parent.getChildCount()
+                && ORDER.compare((DefaultMutableTreeNode) parent.getChildAt(index), child) < 0) {
+            index++;
+        }
+        insertNodeInto(child, parent, index);
+    }
+
+    private static DefaultMutableTreeNode findChild(DirectoryNode parent, String name) {
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            DefaultMutableTreeNode child = (DefaultMutableTreeNode) parent.getChildAt(i);
+            if (child.toString().equals(name)) return child;
+        }
+        return null;
+    }
+
+    // False once the node has been removed, e.g. its directory was deleted
+    private boolean isAttached(DirectoryNode node) {
+        return node.getRoot() == getRoot();
+    }
+
+    private static class DirectoryNode extends DefaultMutableTreeNode {
+        // Only touched on the EDT
+        boolean loadRequested;
+        boolean loaded;
+
+        DirectoryNode(File directory) {
+            this(new FileService.FileNode(directory));
+        }
+
+        DirectoryNode(FileService.FileNode directory) {
+            super(directory, true);
+        }
+
+        File getFile() {
+            return ((FileService.FileNode) getUserObject()).getFile();
+        }
+    }
+}
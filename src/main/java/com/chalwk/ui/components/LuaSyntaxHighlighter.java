@@ -0,0 +1,430 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.ui.components;
+
+import com.chalwk.util.LuaLexer;
+
+import javax.swing.Timer;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.*;
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Highlights Lua in a {@link StyledDocument} as it is edited, without
+ * re-scanning the whole document on every keystroke.
+ * <p>
+ * The lexer state at the start of each line (normal code, or inside a long
+ * comment or string) is remembered. After an edit only the edited lines are
+ * lexed again, continuing onto following lines just until a line ends in
+ * the same state as before; that is the point from which the rest of the
+ * document is known to be unaffected. Within those lines, attributes are
+ * only written for tokens whose style actually changed.
+ * <p>
+ * Edits are debounced, so a paste or a held key costs one pass. The pass
+ * lexes a snapshot of the text on a background thread; if the document
+ * changes before it finishes, its result is dropped and the next pass
+ * starts from the newer text. Surviving results are applied on the EDT in
+ * a single batch.
+ * <p>
+ * Only the lines in view, plus a margin, are styled. Lines elsewhere are
+ * lexed just far enough to keep their start states current, which is
+ * cheap, and are styled when scrolled to, starting from their cached
+ * state rather than from the top of the file.
+ */
+public class LuaSyntaxHighlighter implements DocumentListener {
+
+    private static final Set<String> BUILTINS = Set.of(
+            "print", "type", "pairs", "ipairs", "next", "tostring", "tonumber",
+            "getmetatable", "setmetatable", "rawget", "rawset", "rawlen",
+            "require", "dofile", "loadfile", "load", "assert", "error",
+            "pcall", "xpcall", "select", "unpack", "table", "string", "math",
+            "io", "os", "debug", "coroutine", "package");
+
+    private static final int DEBOUNCE_DELAY = 150; // milliseconds
+    private static final int SCROLL_DELAY = 30; // milliseconds
+
+    // Lines styled above and below the visible ones
+    private static final int VIEWPORT_MARGIN = 100;
+
+    // Lines between checks for a newer edit while lexing
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+
+    private static final ExecutorService lexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lua-highlighter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private enum TokenStyle {
+        DEFAULT, KEYWORD, COMMENT, STRING, NUMBER, FUNCTION, CONSTANT
+    }
+
+    private final JTextPane textPane;
+    private final StyledDocument doc;
+    private final Map<TokenStyle, AttributeSet> styles = new EnumMap<>(TokenStyle.class);
+    private final List<Line> lines = new ArrayList<>();
+    private final Timer debounceTimer;
+    private final Timer scrollTimer;
+    private JViewport viewport;
+    // Bumped on every edit; a pass whose generation is behind is stale
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private LuaSyntaxHighlighter(JTextPane textPane) {
+        this.textPane = textPane;
+        this.doc = textPane.getStyledDocument();
+
+        styles.put(TokenStyle.DEFAULT, style(Color.BLACK, false, false));
+        styles.put(TokenStyle.KEYWORD, style(new Color(0, 0, 128), true, false)); // Dark blue
+        styles.put(TokenStyle.COMMENT, style(new Color(0, 128, 0), false, true)); // Green
+        styles.put(TokenStyle.STRING, style(new Color(128, 0, 0), false, false)); // Dark red
+        styles.put(TokenStyle.NUMBER, style(new Color(0, 0, 255), false, false)); // Blue
+        styles.put(TokenStyle.FUNCTION, style(new Color(128, 0, 128), true, false)); // Purple
+        styles.put(TokenStyle.CONSTANT, style(new Color(0, 128, 128), false, false)); // Teal
+
+        int lineCount = doc.getDefaultRootElement().getElementCount();
+        for (int i = 0; i < lineCount; i++) {
+            lines.add(new Line());
+        }
+
+        debounceTimer = new Timer(DEBOUNCE_DELAY, e -> startPass());
+        debounceTimer.setRepeats(false);
+        debounceTimer.start();
+        scrollTimer = new Timer(SCROLL_DELAY, e -> startPass());
+        scrollTimer.setRepeats(false);
+    }
+
+    /**
+     * Highlights {@code textPane}'s document now and after every edit.
+     */
+    public static LuaSyntaxHighlighter install(JTextPane textPane) {
+        LuaSyntaxHighlighter highlighter = new LuaSyntaxHighlighter(textPane);
+        textPane.getDocument().addDocumentListener(highlighter);
+        return highlighter;
+    }
+
+    private static AttributeSet style(Color color, boolean bold, boolean italic) {
+        SimpleAttributeSet style = new SimpleAttributeSet();
+        StyleConstants.setForeground(style, color);
+        StyleConstants.setBold(style, bold);
+        StyleConstants.setItalic(style, italic);
+        return style;
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        lineStructureChanged(e);
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        lineStructureChanged(e);
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // Attribute changes, including our own
+    }
+
+    /**
+     * Keeps {@link #lines} parallel to the document's line elements and
+     * marks the edited lines, then (re)starts the debounce delay.
+     */
+    private void lineStructureChanged(DocumentEvent e) {
+        Element root = doc.getDefaultRootElement();
+        DocumentEvent.ElementChange change = e.getChange(root);
+
+        if (change != null) {
+            int index = change.getIndex();
+            int removed = change.getChildrenRemoved().length;
+            int added = change.getChildrenAdded().length;
+
+            lines.subList(index, Math.min(index + removed, lines.size())).clear();
+            for (int i = 0; i < added; i++) {
+                lines.add(Math.min(index + i, lines.size()), new Line());
+            }
+        }
+
+        // Lines that keep their element can still have had text inserted or removed
+        int first = root.getElementIndex(e.getOffset());
+        int last = e.getType() == DocumentEvent.EventType.INSERT
+                ? root.getElementIndex(e.getOffset() + e.getLength()) : first;
+        for (int i = first; i <= last && i < lines.size(); i++) {
+            lines.get(i).edited = true;
+        }
+
+        generation.incrementAndGet();
+        debounceTimer.restart();
+    }
+
+    /**
+     * Snapshots the document and lexes it in the background. Runs on the EDT.
+     */
+    private void startPass() {
+        int lineCount = Math.min(doc.getDefaultRootElement().getElementCount(), lines.size());
+        int[] range = styledRange(lineCount);
+
+        int[] startStates = new int[lineCount];
+        int[] endStates = new int[lineCount];
+        boolean[] edited = new boolean[lineCount];
+        boolean[] needsStyling = new boolean[lineCount];
+        int lastNeeded = -1;
+        for (int i = 0; i < lineCount; i++) {
+            Line line = lines.get(i);
+            startStates[i] = line.startState;
+            endStates[i] = line.endState;
+            edited[i] = line.edited;
+            needsStyling[i] = line.spans == null && i >= range[0] && i <= range[1];
+            if (edited[i] || needsStyling[i]) lastNeeded = i;
+        }
+        if (lastNeeded < 0) return;
+
+        String text;
+        try {
+            text = doc.getText(0, doc.getLength());
+        } catch (BadLocationException e) {
+            return;
+        }
+
+        int passGeneration = generation.get();
+        int[] styled = range;
+        int last = lastNeeded;
+        lexer.execute(() -> {
+            List<LexedLine> lexed = lex(text, startStates, endStates, edited, needsStyling, styled, last,
+                    passGeneration);
+            if (lexed != null) {
+                SwingUtilities.invokeLater(() -> apply(lexed, passGeneration));
+            }
+        });
+    }
+
+    /**
+     * @return the first and last line to style: those in view plus the
+     * margin, or every line if the pane isn't scrollable
+     */
+    private int[] styledRange(int lineCount) {
+        if (viewport == null) {
+            viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, textPane);
+            if (viewport == null) return new int[]{0, lineCount - 1};
+            viewport.addChangeListener(e -> {
+                if (visibleLinesNeedStyling()) scrollTimer.restart();
+            });
+        }
+
+        Rectangle view = viewport.getViewRect();
+        Element root = doc.getDefaultRootElement();
+        int first = root.getElementIndex(textPane.viewToModel2D(new Point(view.x, view.y)));
+        int last = root.getElementIndex(textPane.viewToModel2D(new Point(view.x, view.y + view.height)));
+        return new int[]{Math.max(0, first - VIEWPORT_MARGIN), Math.min(lineCount - 1, last + VIEWPORT_MARGIN)};
+    }
+
+    private boolean visibleLinesNeedStyling() {
+        int lineCount = Math.min(doc.getDefaultRootElement().getElementCount(), lines.size());
+        int[] range = styledRange(lineCount);
+        for (int i = range[0]; i <= range[1]; i++) {
+            if (lines.get(i).spans == null) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Lexes the edited lines, plus any following lines whose start state
+     * they change, and styles the lines in {@code styled} that need it.
+     * Runs on the lexer thread.
+     *
+     * @return the lexed lines, or null if the document changed meanwhile
+     */
+    private List<LexedLine> lex(String text, int[] startStates, int[] endStates, boolean[] edited,
+                                boolean[] needsStyling, int[] styled, int lastNeeded, int passGeneration) {
+        List<LexedLine> lexed = new ArrayList<>();
+        int state = LuaLexer.NORMAL;
+        boolean propagating = false;
+        int lineStart = 0;
+
+        for (int i = 0; i < edited.length; i++) {
+            if (i > lastNeeded && !propagating) break;
+            if (i % CANCEL_CHECK_INTERVAL == 0 && generation.get() != passGeneration) return null;
+
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) lineEnd = text.length();
+
+            // Skip lines that are current and whose start state still holds
+            if (!edited[i] && !needsStyling[i] && !(propagating && startStates[i] != state)) {
+                propagating = false;
+                state = endStates[i];
+            } else {
+                int endState;
+                int[] spans = null;
+                if (i >= styled[0] && i <= styled[1]) {
+                    SpanList spanList = new SpanList();
+                    endState = lexLine(text, lineStart, lineEnd, state, spanList);
+                    spans = spanList.toArray();
+                } else {
+                    // Out of view only the state matters
+                    endState = LuaLexer.lexLine(text, lineStart, lineEnd, state, (type, start, end) -> {
+                    });
+                }
+                lexed.add(new LexedLine(i, state, endState, spans));
+                // A changed end state means the next line must be lexed again too
+                propagating = true;
+                state = endState;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return lexed;
+    }
+
+    private void apply(List<LexedLine> lexed, int passGeneration) {
+        // Offsets are only valid for the text that was lexed
+        if (generation.get() != passGeneration) return;
+
+        Element root = doc.getDefaultRootElement();
+        for (LexedLine result : lexed) {
+            Line line = lines.get(result.index);
+            if (result.spans != null) {
+                applySpans(root.getElement(result.index).getStartOffset(), line, result.spans);
+            } else {
+                // Its attributes are out of date until it is scrolled to
+                line.spans = null;
+            }
+            line.startState = result.startState;
+            line.endState = result.endState;
+            line.edited = false;
+        }
+    }
+
+    /**
+     * Writes the attributes of every span that differs from what the line
+     * had before. An edited line has no usable previous spans, so all of its
+     * spans are written.
+     */
+    private void applySpans(int lineStart, Line line, int[] spans) {
+        Set<Long> previous = new HashSet<>();
+        if (line.spans != null && !line.edited) {
+            for (int i = 0; i < line.spans.length; i += 3) {
+                previous.add(spanKey(line.spans, i));
+            }
+        }
+
+        for (int i = 0; i < spans.length; i += 3) {
+            if (!previous.contains(spanKey(spans, i))) {
+                doc.setCharacterAttributes(lineStart + spans[i], spans[i + 1],
+                        styles.get(TokenStyle.values()[spans[i + 2]]), true);
+            }
+        }
+        line.spans = spans;
+    }
+
+    private static long spanKey(int[] spans, int i) {
+        return ((long) spans[i] << 32) | ((long) spans[i + 1] << 8) | spans[i + 2];
+    }
+
+    /**
+     * Splits {@code text[start, end)} into styled spans covering all of it,
+     * with offsets relative to {@code start}.
+     *
+     * @return the lexer state at the end of the line
+     */
+    private static int lexLine(String text, int start, int end, int state, SpanList spans) {
+        boolean[] functionName = new boolean[1];
+        int endState = LuaLexer.lexLine(text, start, end, state, (type, tokenStart, tokenEnd) -> {
+            spans.add(spans.end(), tokenStart - start - spans.end(), TokenStyle.DEFAULT);
+            spans.add(tokenStart - start, tokenEnd - tokenStart,
+                    styleOf(type, text, tokenStart, tokenEnd, functionName[0]));
+            // The name after "function" is the function being defined
+            functionName[0] = type == LuaLexer.TokenType.KEYWORD && text.startsWith("function", tokenStart);
+        });
+        spans.add(spans.end(), end - start - spans.end(), TokenStyle.DEFAULT);
+        return endState;
+    }
+
+    private static TokenStyle styleOf(LuaLexer.TokenType type, String text, int start, int end,
+                                      boolean functionName) {
+        switch (type) {
+            case KEYWORD:
+                return TokenStyle.KEYWORD;
+            case CONSTANT:
+                return TokenStyle.CONSTANT;
+            case NUMBER:
+                return TokenStyle.NUMBER;
+            case STRING:
+                return TokenStyle.STRING;
+            case COMMENT:
+                return TokenStyle.COMMENT;
+            case NAME:
+                if (functionName || BUILTINS.contains(text.substring(start, end))) {
+                    return TokenStyle.FUNCTION;
+                }
+                return TokenStyle.DEFAULT;
+            default:
+                return TokenStyle.DEFAULT;
+        }
+    }
+
+    private static class Line {
+        int startState = LuaLexer.NORMAL;
+        int endState = LuaLexer.NORMAL;
+        // (offset in line, length, style) triples as written to the
+        // document, or null if the line's attributes aren't current
+        int[] spans;
+        boolean edited = true;
+    }
+
+    private static class LexedLine {
+        final int index;
+        final int startState;
+        final int endState;
+        final int[] spans;
+
+        LexedLine(int index, int startState, int endState, int[] spans) {
+            this.index = index;
+            this.startState = startState;
+            this.endState = endState;
+            this.spans = spans;
+        }
+    }
+
+    /**
+     * Growable list of span triples; merges neighbours of the same style.
+     */
+    private static class SpanList {
+        private int[] data = new int[48];
+        private int size;
+
+        void add(int start, int length, TokenStyle style) {
+            if (length <= 0) return;
+            if (size > 0 && data[size - 1] == style.ordinal() && data[size - 3] + data[size - 2] == start) {
+                data[size - 2] += length;
+                return;
+            }
+            if (size + 3 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = start;
+            data[size++] = length;
+            data[size++] = style.ordinal();
+        }
+
+        // Where the last span ends
+        int end() {
+            return size == 0 ? 0 : data[size - 3] + data[size - 2];
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+}
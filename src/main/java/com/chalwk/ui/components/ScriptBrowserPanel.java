@@ -13,11 +13,18 @@ import com.chalwk.model.ScriptCategory;
 import com.chalwk.model.ScriptMetadata;
 import com.chalwk.model.ServerConfig;
 import com.chalwk.model.ServerType;
+import com.chalwk.service.DownloadJob;
+import com.chalwk.service.DownloadManager;
+import com.chalwk.service.ProgressListener;
+import com.chalwk.service.ScriptSearchIndex;
 import com.chalwk.service.ScriptService;
+import com.chalwk.service.ScriptUpdateScanner;
 import com.chalwk.service.ServerService;
 import com.chalwk.ui.MainFrame;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import java.awt.*;
@@ -26,16 +33,19 @@ import java.awt.event.ActionListener;
 import java.io.File;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class ScriptBrowserPanel extends JPanel {
     private final MainFrame parent;
     private List<ScriptMetadata> allScripts;
     private Map<ScriptCategory, List<ScriptMetadata>> scriptsByCategory;
+    private ScriptSearchIndex searchIndex;
+
+    private JTextField searchField;
 
     private JComboBox<ScriptCategory> categoryComboBox;
     private JList<ScriptMetadata> scriptList;
@@ -43,8 +53,9 @@ public class ScriptBrowserPanel extends JPanel {
     private JProgressBar progressBar;
     private JLabel statusLabel;
     private JButton installButton;
+    private JButton updatesButton;
     private JButton viewOnGitHubButton;
-    private JComboBox<ServerType> serverComboBox;
+    private final Map<ServerType, JCheckBox> serverCheckBoxes = new EnumMap<>(ServerType.class);
     private JButton reportBugButton;
 
     public ScriptBrowserPanel(MainFrame parent) {
@@ -85,15 +96,12 @@ public class ScriptBrowserPanel extends JPanel {
 
         // Server selection
         panel.add(new JLabel("Install to:"));
-        serverComboBox = new JComboBox<>(ServerType.values());
-
-        // Set preferred size to ensure full text is visible
-        Dimension comboBoxSize = new Dimension(120, serverComboBox.getPreferredSize().height);
-        serverComboBox.setPreferredSize(comboBoxSize);
-        serverComboBox.setMinimumSize(comboBoxSize);
-        serverComboBox.setMaximumSize(comboBoxSize);
-
-        panel.add(serverComboBox);
+        for (ServerType serverType : ServerType.values()) {
+            // The first server starts ticked, as the old drop-down defaulted to it
+            JCheckBox checkBox = new JCheckBox(serverType.getDisplayName(), serverCheckBoxes.isEmpty());
+            serverCheckBoxes.put(serverType, checkBox);
+            panel.add(checkBox);
+        }
 
         // Category filter
         panel.add(Box.createHorizontalStrut(20));
@@ -102,6 +110,32 @@ public class ScriptBrowserPanel extends JPanel {
         categoryComboBox.addActionListener(e -> filterScripts());
         panel.add(categoryComboBox);
 
+        // Search across all categories
+        panel.add(Box.createHorizontalStrut(20));
+        panel.add(new JLabel("Search:"));
+        searchField = new JTextField(15);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                filterScripts();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filterScripts();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        panel.add(searchField);
+
+        panel.add(Box.createHorizontalStrut(20));
+        updatesButton = new JButton("Check for Updates");
+        updatesButton.addActionListener(e -> checkForScriptUpdates());
+        panel.add(updatesButton);
+
         return panel;
     }
 
@@ -115,7 +149,7 @@ public class ScriptBrowserPanel extends JPanel {
         leftPanel.setBorder(BorderFactory.createTitledBorder("Available Scripts"));
 
         scriptList = new JList<>();
-        scriptList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        scriptList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         scriptList.setCellRenderer(new ScriptListRenderer());
         scriptList.addListSelectionListener(new ScriptSelectionListener());
 
@@ -176,50 +210,107 @@ public class ScriptBrowserPanel extends JPanel {
     }
 
     private void loadScripts() {
-        new SwingWorker<Void, Void>() {
+        // Show the cached catalog straight away, then ask GitHub whether it changed
+        showScripts(ScriptService.loadCachedScripts());
+        boolean hasCache = !allScripts.isEmpty();
+        statusLabel.setText(hasCache
+                ? "Loaded " + allScripts.size() + " scripts (cached), checking for updates..."
+                : "Loading scripts from GitHub...");
+        progressBar.setIndeterminate(true);
+
+        new SwingWorker<List<ScriptMetadata>, ScriptMetadata>() {
             @Override
-            protected Void doInBackground() throws Exception {
-                SwingUtilities.invokeLater(() -> {
-                    statusLabel.setText("Loading scripts from GitHub...");
-                    progressBar.setIndeterminate(true);
-                });
+            protected List<ScriptMetadata> doInBackground() throws Exception {
+                // With nothing cached, fill the list as scripts arrive rather than after the last one
+                return ScriptService.refreshScripts(hasCache ? script -> {
+                } : this::publish);
+            }
 
-                allScripts = ScriptService.loadScriptsMetadata();
+            @Override
+            protected void process(List<ScriptMetadata> scripts) {
+                allScripts.addAll(scripts);
                 organizeScriptsByCategory();
 
-                return null;
+                ScriptMetadata selected = scriptList.getSelectedValue();
+                filterScripts();
+                if (selected != null) {
+                    scriptList.setSelectedValue(selected, false);
+                }
+                statusLabel.setText("Loading scripts from GitHub... " + allScripts.size() + " so far");
+            }
+
+            @Override
+            protected void done() {
+                progressBar.setIndeterminate(false);
+                try {
+                    List<ScriptMetadata> updated = get();
+                    if (updated != null) {
+                        showScripts(updated);
+                    }
+                    statusLabel.setText("Loaded " + allScripts.size() + " scripts from GitHub");
+                } catch (Exception e) {
+                    System.err.println("Failed to refresh script catalog: " + e.getMessage());
+                    statusLabel.setText(hasCache
+                            ? "Showing " + allScripts.size() + " cached scripts (offline)"
+                            : "Failed to load scripts from GitHub");
+                }
+            }
+        }.execute();
+    }
+
+    private void showScripts(List<ScriptMetadata> scripts) {
+        allScripts = scripts;
+        organizeScriptsByCategory();
+        filterScripts();
+        buildSearchIndex(scripts);
+    }
+
+    private void buildSearchIndex(List<ScriptMetadata> scripts) {
+        List<ScriptMetadata> catalog = new ArrayList<>(scripts);
+        new SwingWorker<ScriptSearchIndex, Void>() {
+            @Override
+            protected ScriptSearchIndex doInBackground() {
+                return ScriptSearchIndex.build(catalog);
             }
 
             @Override
             protected void done() {
-                SwingUtilities.invokeLater(() -> {
-                    progressBar.setIndeterminate(false);
-                    if (allScripts != null && !allScripts.isEmpty()) {
-                        statusLabel.setText("Loaded " + allScripts.size() + " scripts from GitHub");
+                // A newer catalog may have arrived while this one was indexed
+                if (allScripts != scripts) return;
+                try {
+                    searchIndex = get();
+                    if (!searchField.getText().isBlank()) {
                         filterScripts();
-                    } else {
-                        statusLabel.setText("Failed to load scripts from GitHub");
                     }
-                });
+                } catch (Exception e) {
+                    System.err.println("Failed to build script search index: " + e.getMessage());
+                }
             }
         }.execute();
     }
 
     private void organizeScriptsByCategory() {
+        // Sorted by title once here, rather than on every filter change
         scriptsByCategory = allScripts.stream()
+                .sorted(Comparator.comparing(ScriptMetadata::getTitle, Comparator.nullsLast(Comparator.naturalOrder())))
                 .collect(Collectors.groupingBy(ScriptMetadata::getCategory));
     }
 
     private void filterScripts() {
         if (scriptsByCategory == null) return;
 
-        ScriptCategory selectedCategory = (ScriptCategory) categoryComboBox.getSelectedItem();
-        List<ScriptMetadata> categoryScripts = scriptsByCategory.getOrDefault(selectedCategory, new ArrayList<>());
-
-        // Sort by title
-        categoryScripts.sort(Comparator.comparing(ScriptMetadata::getTitle));
+        List<ScriptMetadata> visibleScripts;
+        String query = searchField.getText();
+        if (!query.isBlank()) {
+            // Search results span every category and keep their ranking
+            visibleScripts = searchIndex != null ? searchIndex.search(query) : Collections.emptyList();
+        } else {
+            ScriptCategory selectedCategory = (ScriptCategory) categoryComboBox.getSelectedItem();
+            visibleScripts = scriptsByCategory.getOrDefault(selectedCategory, Collections.emptyList());
+        }
+        categoryComboBox.setEnabled(query.isBlank());
 
-        scriptList.setListData(categoryScripts.toArray(new ScriptMetadata[0]));
+        scriptList.setListData(visibleScripts.toArray(new ScriptMetadata[0]));
 
         // Clear selection
         scriptList.clearSelection();
@@ -240,35 +331,197 @@ public class ScriptBrowserPanel extends JPanel {
         return null;
     }
 
-    private void installScript(ScriptMetadata script, File luaFolder) {
-        new Thread(() -> {
-            SwingUtilities.invokeLater(() -> {
-                installButton.setEnabled(false);
-                statusLabel.setText("Downloading " + script.getFilename() + "...");
-                progressBar.setVisible(true);
-                progressBar.setValue(0);
-            });
+    /**
+     * Downloads each script once, through the download manager's bounded
+     * slots, and writes it into each of its lua folders. Reports a single
+     * result once all of them have finished.
+     */
+    private void installScripts(Map<ScriptMetadata, List<File>> targets) {
+        installButton.setEnabled(false);
+        updatesButton.setEnabled(false);
+        statusLabel.setText(targets.size() == 1
+                ? "Downloading " + targets.keySet().iterator().next().getFilename() + "..."
+                : "Installing " + targets.size() + " scripts...");
+        progressBar.setVisible(true);
+        progressBar.setValue(0);
+
+        boolean single = targets.size() == 1;
+        int total = targets.size();
+        AtomicInteger finished = new AtomicInteger();
+        Map<ScriptMetadata, DownloadJob> jobs = new LinkedHashMap<>();
+
+        for (Map.Entry<ScriptMetadata, List<File>> target : targets.entrySet()) {
+            ScriptMetadata script = target.getKey();
+            List<File> luaFolders = target.getValue();
+            // A batch shows overall progress instead of each file's
+            ProgressListener progress = single ? SwingProgressListener.create(progressBar, statusLabel)
+                    : ProgressListener.NONE;
+
+            DownloadJob job = DownloadManager.submit("Script " + script.getFilename(),
+                    script.getRawScriptUrl(),
+                    single ? DownloadJob.Priority.INTERACTIVE : DownloadJob.Priority.NORMAL,
+                    progress, listener -> ScriptService.installScript(script, luaFolders, listener));
+            jobs.put(script, job);
+
+            if (!single) {
+                job.result().thenRun(() -> {
+                    int done = finished.incrementAndGet();
+                    SwingUtilities.invokeLater(() -> {
+                        // The final count is left to the summary
+                        if (done < total) {
+                            progressBar.setValue(done * 100 / total);
+                            statusLabel.setText("Installed " + done + " of " + total + " scripts...");
+                        }
+                    });
+                });
+            }
+        }
 
-            boolean success = ScriptService.downloadScript(script, luaFolder, progressBar, statusLabel);
+        CompletableFuture.allOf(jobs.values().stream().map(DownloadJob::result).toArray(CompletableFuture[]::new))
+                .thenRun(() -> SwingUtilities.invokeLater(() -> showInstallResult(jobs, targets)));
+    }
 
-            SwingUtilities.invokeLater(() -> {
-                installButton.setEnabled(true);
-                progressBar.setVisible(false);
-                if (success) {
-                    statusLabel.setText("Successfully installed " + script.getFilename());
+    private void showInstallResult(Map<ScriptMetadata, DownloadJob> jobs, Map<ScriptMetadata, List<File>> targets) {
+        installButton.setEnabled(!scriptList.getSelectedValuesList().isEmpty());
+        updatesButton.setEnabled(true);
+        progressBar.setVisible(false);
 
-                    // Refresh the file tree in the server panel
-                    parent.refreshFileTrees();
+        List<ScriptMetadata> installed = new ArrayList<>();
+        List<String> failed = new ArrayList<>();
+        int cancelled = 0;
+        for (Map.Entry<ScriptMetadata, DownloadJob> entry : jobs.entrySet()) {
+            DownloadJob job = entry.getValue();
+            if (job.getState() == DownloadJob.State.COMPLETED) {
+                installed.add(entry.getKey());
+            } else if (job.getState() == DownloadJob.State.CANCELLED) {
+                cancelled++;
+            } else {
+                failed.add(entry.getKey().getFilename() + (job.getMessage() != null ? ": " + job.getMessage() : ""));
+            }
+        }
+
+        Set<File> luaFolders = new LinkedHashSet<>();
+        targets.values().forEach(luaFolders::addAll);
 
-                    // Show instructions for loading the script
-                    String message = getString(script, luaFolder);
+        if (jobs.size() == 1 && luaFolders.size() == 1) {
+            ScriptMetadata script = jobs.keySet().iterator().next();
+            if (!installed.isEmpty()) {
+                statusLabel.setText("Successfully installed " + script.getFilename());
 
+                // Show instructions for loading the script
+                JOptionPane.showMessageDialog(ScriptBrowserPanel.this,
+                        getString(script, luaFolders.iterator().next()),
+                        "Installation Complete - Next Steps", JOptionPane.INFORMATION_MESSAGE);
+            } else if (cancelled > 0) {
+                statusLabel.setText("Download cancelled");
+            }
+            return;
+        }
+
+        statusLabel.setText("Installed " + installed.size() + " of " + jobs.size() + " scripts");
+
+        StringBuilder message = new StringBuilder();
+        message.append("Installed ").append(installed.size()).append(" of ").append(jobs.size())
+                .append(" scripts to ").append(luaFolders.size()).append(luaFolders.size() == 1 ? " server" : " servers")
+                .append(".\n");
+        if (!failed.isEmpty()) {
+            message.append("\nFailed:\n");
+            failed.forEach(line -> message.append("  ").append(line).append("\n"));
+        }
+        if (cancelled > 0) {
+            message.append("\nCancelled: ").append(cancelled).append("\n");
+        }
+        if (!installed.isEmpty()) {
+            message.append("\nTo enable a script, add a line like this to each server's cg/sapp/init.txt:\n")
+                    .append("lua_load \"").append(installed.get(0).getFilename().replace(".lua", "")).append("\"");
+        }
+
+        JOptionPane.showMessageDialog(ScriptBrowserPanel.this, message.toString(), "Installation Complete",
+                failed.isEmpty() ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.WARNING_MESSAGE);
+    }
+
+    private void checkForScriptUpdates() {
+        if (allScripts == null || allScripts.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "The script list hasn't loaded yet.",
+                    "Check for Updates", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        Map<File, ServerType> luaFolders = new LinkedHashMap<>();
+        for (ServerType serverType : ServerType.values()) {
+            ServerConfig serverConfig = getServerConfig(serverType);
+            if (serverConfig != null && serverConfig.isInstalled()) {
+                luaFolders.put(new File(serverConfig.getServerDirectory(), "cg/sapp/lua"), serverType);
+            }
+        }
+        if (luaFolders.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No servers are installed.",
+                    "Check for Updates", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        updatesButton.setEnabled(false);
+        statusLabel.setText("Checking installed scripts for updates...");
+        progressBar.setVisible(true);
+        progressBar.setIndeterminate(true);
+
+        List<ScriptMetadata> catalog = new ArrayList<>(allScripts);
+        new SwingWorker<List<ScriptUpdateScanner.ScriptUpdate>, Void>() {
+            @Override
+            protected List<ScriptUpdateScanner.ScriptUpdate> doInBackground() throws Exception {
+                return ScriptUpdateScanner.scan(catalog, new ArrayList<>(luaFolders.keySet()));
+            }
+
+            @Override
+            protected void done() {
+                progressBar.setIndeterminate(false);
+                progressBar.setVisible(false);
+                updatesButton.setEnabled(true);
+                try {
+                    showScriptUpdates(get(), luaFolders);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    statusLabel.setText("Update check failed");
                     JOptionPane.showMessageDialog(ScriptBrowserPanel.this,
-                            message,
-                            "Installation Complete - Next Steps", JOptionPane.INFORMATION_MESSAGE);
+                            "Failed to check for script updates: " + cause.getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
                 }
-            });
-        }).start();
+            }
+        }.execute();
+    }
+
+    private void showScriptUpdates(List<ScriptUpdateScanner.ScriptUpdate> updates, Map<File, ServerType> luaFolders) {
+        if (updates.isEmpty()) {
+            statusLabel.setText("All installed scripts are up to date");
+            JOptionPane.showMessageDialog(this, "All installed scripts are up to date.",
+                    "Check for Updates", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        statusLabel.setText(updates.size() + (updates.size() == 1 ? " update" : " updates") + " available");
+
+        DefaultListModel<String> rows = new DefaultListModel<>();
+        Map<ScriptMetadata, List<File>> targets = new LinkedHashMap<>();
+        for (ScriptUpdateScanner.ScriptUpdate update : updates) {
+            File luaFolder = update.getInstalledFile().getParentFile();
+            rows.addElement(update.getScript().getTitle() + " (" + update.getScript().getFilename() + ") - "
+                    + luaFolders.get(luaFolder).getDisplayName());
+            targets.computeIfAbsent(update.getScript(), script -> new ArrayList<>()).add(luaFolder);
+        }
+
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
+        panel.add(new JLabel(statusLabel.getText() + ". Local changes to these files will be replaced."),
+                BorderLayout.NORTH);
+        JScrollPane scrollPane = new JScrollPane(new JList<>(rows));
+        scrollPane.setPreferredSize(new Dimension(450, 200));
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        Object[] options = {"Update All", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(this, panel, "Script Updates",
+                JOptionPane.OK_CANCEL_OPTION, JOptionPane.INFORMATION_MESSAGE, null, options, options[0]);
+        if (choice == 0) {
+            installScripts(targets);
+        }
     }
 
     private static class ScriptListRenderer extends DefaultListCellRenderer {
@@ -292,18 +545,28 @@ public class ScriptBrowserPanel extends JPanel {
         public void valueChanged(ListSelectionEvent e) {
             if (e.getValueIsAdjusting()) return;
 
-            ScriptMetadata selectedScript = scriptList.getSelectedValue();
-            if (selectedScript != null) {
-                descriptionArea.setText(buildDescriptionText(selectedScript));
-                installButton.setEnabled(true);
-                viewOnGitHubButton.setEnabled(true);
-                reportBugButton.setEnabled(true);
+            List<ScriptMetadata> selectedScripts = scriptList.getSelectedValuesList();
+            if (selectedScripts.size() == 1) {
+                descriptionArea.setText(buildDescriptionText(selectedScripts.get(0)));
+            } else if (selectedScripts.size() > 1) {
+                descriptionArea.setText(buildSelectionText(selectedScripts));
             } else {
                 descriptionArea.setText("");
-                installButton.setEnabled(false);
-                viewOnGitHubButton.setEnabled(false);
-                reportBugButton.setEnabled(false);
             }
+
+            installButton.setEnabled(!selectedScripts.isEmpty());
+            installButton.setText(selectedScripts.size() > 1
+                    ? "Install " + selectedScripts.size() + " Scripts" : "Install Script");
+            viewOnGitHubButton.setEnabled(selectedScripts.size() == 1);
+            reportBugButton.setEnabled(selectedScripts.size() == 1);
+        }
+
+        private String buildSelectionText(List<ScriptMetadata> scripts) {
+            StringBuilder text = new StringBuilder(scripts.size() + " scripts selected:\n\n");
+            for (ScriptMetadata script : scripts) {
+                text.append(script.getTitle()).append(" (").append(script.getFilename()).append(")\n");
+            }
+            return text.toString();
         }
 
         private String buildDescriptionText(ScriptMetadata script) {
@@ -370,38 +633,63 @@ public class ScriptBrowserPanel extends JPanel {
     private class InstallButtonListener implements ActionListener {
         @Override
         public void actionPerformed(ActionEvent e) {
-            ScriptMetadata selectedScript = scriptList.getSelectedValue();
-            ServerType selectedServer = (ServerType) serverComboBox.getSelectedItem();
-
-            if (selectedScript == null) return;
+            List<ScriptMetadata> selectedScripts = scriptList.getSelectedValuesList();
+            if (selectedScripts.isEmpty()) return;
 
-            // Get server configuration
-            assert selectedServer != null;
-            ServerConfig serverConfig = getServerConfig(selectedServer);
-            if (serverConfig == null || !serverConfig.isInstalled()) {
+            List<ServerType> selectedServers = new ArrayList<>();
+            serverCheckBoxes.forEach((serverType, checkBox) -> {
+                if (checkBox.isSelected()) selectedServers.add(serverType);
+            });
+            if (selectedServers.isEmpty()) {
                 JOptionPane.showMessageDialog(ScriptBrowserPanel.this,
-                        selectedServer.getDisplayName() + " is not installed. Please install the server first.",
-                        "Server Not Installed", JOptionPane.WARNING_MESSAGE);
+                        "Select at least one server to install to.",
+                        "No Server Selected", JOptionPane.WARNING_MESSAGE);
                 return;
             }
 
-            File luaFolder = new File(serverConfig.getServerDirectory(), "cg/sapp/lua");
-            if (!luaFolder.exists()) {
-                luaFolder.mkdirs();
+            // Get server configuration
+            List<File> luaFolders = new ArrayList<>();
+            for (ServerType selectedServer : selectedServers) {
+                ServerConfig serverConfig = getServerConfig(selectedServer);
+                if (serverConfig == null || !serverConfig.isInstalled()) {
+                    JOptionPane.showMessageDialog(ScriptBrowserPanel.this,
+                            selectedServer.getDisplayName() + " is not installed. Please install the server first.",
+                            "Server Not Installed", JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                luaFolders.add(new File(serverConfig.getServerDirectory(), "cg/sapp/lua"));
+            }
+
+            // Each script is fetched once however many times it appears
+            Map<String, ScriptMetadata> uniqueScripts = new LinkedHashMap<>();
+            for (ScriptMetadata script : selectedScripts) {
+                uniqueScripts.putIfAbsent(script.getRawScriptUrl(), script);
             }
+            Collection<ScriptMetadata> scripts = uniqueScripts.values();
 
-            File scriptFile = new File(luaFolder, selectedScript.getFilename());
-            if (scriptFile.exists()) {
-                int result = JOptionPane.showConfirmDialog(ScriptBrowserPanel.this,
-                        "Script '" + selectedScript.getFilename() + "' already exists. Overwrite?",
+            Set<String> existing = new LinkedHashSet<>();
+            for (ScriptMetadata script : scripts) {
+                for (File luaFolder : luaFolders) {
+                    if (new File(luaFolder, script.getFilename()).exists()) {
+                        existing.add(script.getFilename());
+                    }
+                }
+            }
+            if (!existing.isEmpty()) {
+                String question = existing.size() == 1
+                        ? "Script '" + existing.iterator().next() + "' already exists. Overwrite?"
+                        : existing.size() + " of the selected scripts already exist. Overwrite them?";
+                int result = JOptionPane.showConfirmDialog(ScriptBrowserPanel.this, question,
                         "Confirm Overwrite", JOptionPane.YES_NO_OPTION);
                 if (result != JOptionPane.YES_OPTION) {
                     return;
                 }
             }
 
-            // Download the script
-            installScript(selectedScript, luaFolder);
+            // Download the scripts
+            Map<ScriptMetadata, List<File>> targets = new LinkedHashMap<>();
+            scripts.forEach(script -> targets.put(script, luaFolders));
+            installScripts(targets);
         }
     }
 
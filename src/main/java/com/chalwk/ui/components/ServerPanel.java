@@ -11,10 +11,14 @@ package com.chalwk.ui.components;
 
 import com.chalwk.model.ServerConfig;
 import com.chalwk.model.ServerType;
+import com.chalwk.service.DownloadJob;
+import com.chalwk.service.DownloadManager;
 import com.chalwk.service.DownloadService;
 import com.chalwk.service.FileService;
 import com.chalwk.service.ServerService;
 import com.chalwk.ui.FileEditorDialog;
+import com.chalwk.ui.FileViewerDialog;
+import com.chalwk.ui.LogTailDialog;
 import com.chalwk.ui.MainFrame;
 import com.chalwk.util.PreferencesManager;
 
@@ -28,6 +32,9 @@ import java.awt.event.MouseEvent;
 import java.io.File;
 
 public class ServerPanel extends JPanel {
+    // Larger files open in the read-only viewer rather than the editor
+    private static final long LARGE_FILE_THRESHOLD = 4 * 1024 * 1024;
+
     private final MainFrame parent;
     private final ServerType serverType;
     private final PreferencesManager preferencesManager;
@@ -75,7 +82,7 @@ public class ServerPanel extends JPanel {
         downloadButton.addActionListener(e -> downloadServer());
         launchButton.addActionListener(e -> launchServer());
         browseButton.addActionListener(e -> browseFiles());
-        refreshButton.addActionListener(e -> refreshFileTree());
+        refreshButton.addActionListener(e -> reloadFileTree());
 
         panel.add(downloadButton);
         panel.add(launchButton);
@@ -92,6 +99,7 @@ public class ServerPanel extends JPanel {
         fileTree = new JTree();
         fileTree.setRootVisible(false);
         fileTree.setShowsRootHandles(true);
+        LazyFileTreeModel.install(fileTree);
 
         fileTree.addMouseListener(new MouseAdapter() {
             @Override
@@ -101,11 +109,21 @@ public class ServerPanel extends JPanel {
                     if (path != null) {
                         File file = FileService.getFileFromTreePath(path);
                         if (file != null && file.isFile() && FileService.isEditableFile(file)) {
-                            openFileEditor(file);
+                            openFile(file);
                         }
                     }
                 }
             }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                showFilePopup(e);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                showFilePopup(e);
+            }
         });
 
         JScrollPane scrollPane = new JScrollPane(fileTree);
@@ -137,33 +155,36 @@ public class ServerPanel extends JPanel {
         // Save to preferences
         parent.getPreferencesManager().setInstallationPath(serverType.name(), installDir.getAbsolutePath());
 
-        // Run download in background thread
-        new Thread(() -> {
-            SwingUtilities.invokeLater(() -> {
-                downloadButton.setEnabled(false);
-                statusLabel.setText("Starting download...");
-                progressBar.setVisible(true);
-                progressBar.setValue(0);
-            });
-
-            boolean success = DownloadService.downloadAndExtract(
-                    serverType, installDir, progressBar, statusLabel);
-
-            SwingUtilities.invokeLater(() -> {
-                downloadButton.setEnabled(true);
-                progressBar.setVisible(false);
-                if (success) {
-                    serverConfig.setInstalled(true);
-
-                    // Ensure all directories are created
-                    ServerService.createMissingServerDirectories(serverConfig);
-
-                    refreshFileTree();
-                    parent.refreshServerStatus();
-                    statusLabel.setText(serverType.getDisplayName() + " installed successfully!");
-                }
-            });
-        }).start();
+        downloadButton.setEnabled(false);
+        statusLabel.setText("Waiting to start download...");
+        progressBar.setVisible(true);
+        progressBar.setValue(0);
+
+        boolean streamExtract = preferencesManager.getStreamingExtractionEnabled();
+        boolean incremental = preferencesManager.getIncrementalExtractionEnabled();
+
+        DownloadJob job = DownloadManager.submit("Install " + serverType.getDisplayName(),
+                serverType.getDownloadUrl(), DownloadJob.Priority.NORMAL,
+                SwingProgressListener.create(progressBar, statusLabel),
+                progress -> DownloadService.downloadAndExtract(serverType, installDir,
+                        streamExtract, incremental, progress));
+
+        job.result().thenAccept(success -> SwingUtilities.invokeLater(() -> {
+            downloadButton.setEnabled(true);
+            progressBar.setVisible(false);
+            if (success) {
+                serverConfig.setInstalled(true);
+
+                // Ensure all directories are created
+                ServerService.createMissingServerDirectories(serverConfig);
+
+                refreshFileTree();
+                parent.refreshServerStatus();
+                statusLabel.setText(serverType.getDisplayName() + " installed successfully!");
+            } else if (job.getState() == DownloadJob.State.CANCELLED) {
+                statusLabel.setText("Download cancelled");
+            }
+        }));
     }
 
     private void launchServer() {
@@ -203,11 +224,13 @@ public class ServerPanel extends JPanel {
         if (serverConfig != null && serverConfig.isInstalled()) {
             File serverDir = serverConfig.getServerDirectory();
             if (serverDir.exists() && serverDir.isDirectory()) {
-                fileTree.setModel(new DefaultTreeModel(
-                        FileService.createFileTree(serverDir)));
-
-                // Expand the root node
-                fileTree.expandRow(0);
+                // Directories are listed as they are expanded, off the EDT, and the
+                // model follows changes on disk, so an existing one is kept as is
+                if (!(fileTree.getModel() instanceof LazyFileTreeModel)
+                        || !((LazyFileTreeModel) fileTree.getModel()).getRootDirectory().equals(serverDir)) {
+                    closeFileTreeModel();
+                    fileTree.setModel(new LazyFileTreeModel(serverDir));
+                }
                 statusLabel.setText(serverType.getDisplayName() + " is installed at: " + serverDir.getAbsolutePath());
             } else {
                 setEmptyFileTree();
@@ -217,7 +240,25 @@ public class ServerPanel extends JPanel {
         }
     }
 
+    /**
+     * Lists the loaded directories again, for changes the file watcher missed.
+     */
+    private void reloadFileTree() {
+        if (fileTree.getModel() instanceof LazyFileTreeModel) {
+            ((LazyFileTreeModel) fileTree.getModel()).refresh();
+        } else {
+            refreshFileTree();
+        }
+    }
+
+    private void closeFileTreeModel() {
+        if (fileTree.getModel() instanceof LazyFileTreeModel) {
+            ((LazyFileTreeModel) fileTree.getModel()).close();
+        }
+    }
+
     private void setEmptyFileTree() {
+        closeFileTreeModel();
         fileTree.setModel(new DefaultTreeModel(
                 new DefaultMutableTreeNode("No server files found")));
 
@@ -228,10 +269,45 @@ public class ServerPanel extends JPanel {
         }
     }
 
+    private void showFilePopup(MouseEvent e) {
+        if (!e.isPopupTrigger()) return;
+
+        TreePath path = fileTree.getPathForLocation(e.getX(), e.getY());
+        File file = FileService.getFileFromTreePath(path);
+        if (file == null || !file.isFile()) return;
+        fileTree.setSelectionPath(path);
+
+        JPopupMenu popup = new JPopupMenu();
+        JMenuItem editItem = new JMenuItem("Edit");
+        editItem.setEnabled(FileService.isEditableFile(file) && file.length() <= LARGE_FILE_THRESHOLD);
+        editItem.addActionListener(evt -> openFileEditor(file));
+        JMenuItem viewItem = new JMenuItem("View (Read-Only)");
+        viewItem.addActionListener(evt -> openFileViewer(file));
+        JMenuItem followItem = new JMenuItem("Follow Log");
+        followItem.addActionListener(evt -> new LogTailDialog(parent, file).open());
+
+        popup.add(editItem);
+        popup.add(viewItem);
+        popup.add(followItem);
+        popup.show(fileTree, e.getX(), e.getY());
+    }
+
+    private void openFile(File file) {
+        if (file.length() > LARGE_FILE_THRESHOLD) {
+            openFileViewer(file);
+        } else {
+            openFileEditor(file);
+        }
+    }
+
     private void openFileEditor(File file) {
         new FileEditorDialog(parent, file).setVisible(true);
     }
 
+    private void openFileViewer(File file) {
+        new FileViewerDialog(parent, file).open();
+    }
+
     public void refreshServerStatus() {
         if (serverConfig != null) {
             boolean installed = ServerService.isServerInstalled(serverConfig);
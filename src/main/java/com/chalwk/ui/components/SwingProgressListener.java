@@ -0,0 +1,51 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.ui.components;
+
+import com.chalwk.service.ProgressListener;
+import com.chalwk.service.ThrottledProgressListener;
+
+import javax.swing.*;
+
+/**
+ * Shows service progress on a progress bar and status label. Must run on the
+ * EDT, so always obtain one through {@link #create}.
+ */
+public class SwingProgressListener implements ProgressListener {
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel;
+
+    private SwingProgressListener(JProgressBar progressBar, JLabel statusLabel) {
+        this.progressBar = progressBar;
+        this.statusLabel = statusLabel;
+    }
+
+    public static ProgressListener create(JProgressBar progressBar, JLabel statusLabel) {
+        return new ThrottledProgressListener(
+                new SwingProgressListener(progressBar, statusLabel), SwingUtilities::invokeLater);
+    }
+
+    @Override
+    public void onProgress(String phase, long done, long total) {
+        if (total > 0) {
+            int progress = (int) ((done * 100) / total);
+            progressBar.setValue(progress);
+            statusLabel.setText(String.format("%s: %d%% (%d/%d KB)",
+                    phase, progress, done / 1024, total / 1024));
+        } else {
+            statusLabel.setText(String.format("%s: %d KB", phase, done / 1024));
+        }
+    }
+
+    @Override
+    public void onStatus(String message) {
+        statusLabel.setText(message);
+    }
+}
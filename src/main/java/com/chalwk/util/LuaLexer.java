@@ -0,0 +1,349 @@
+/**
+ * Halo Server Manager
+ * Copyright (c) 2025 Jericho Crosby (Chalwk)
+ * <p>
+ * This project is licensed under the MIT License.
+ * See LICENSE file for details:
+ * https://github.com/Chalwk/HaloServerManager/blob/main/LICENSE
+ */
+
+package com.chalwk.util;
+
+/**
+ * A single-pass Lua 5.1 tokenizer for syntax highlighting.
+ * <p>
+ * Input is lexed a line at a time. Each call takes the state the previous
+ * line ended in and returns the state this line ends in, so a caller that
+ * keeps the state per line can restart lexing at any line. States are
+ * opaque; {@link #NORMAL} means no token is open. Long brackets of any level
+ * ({@code [==[ ... ]==]}), long comments, escapes and strings continued
+ * with a trailing backslash are carried across lines.
+ * <p>
+ * Characters are dispatched through a lookup table; there are no regular
+ * expressions. Whitespace is not reported, and malformed input never
+ * throws: an unterminated string just ends at the end of its line, the way
+ * the Lua lexer would report it.
+ */
+public final class LuaLexer {
+
+    public enum TokenType {
+        NAME,
+        KEYWORD,
+        // nil, true and false
+        CONSTANT,
+        NUMBER,
+        STRING,
+        COMMENT,
+        OPERATOR
+    }
+
+    public interface TokenSink {
+        /**
+         * Called for each token in order; {@code end} is exclusive. A token
+         * open at the end of a line is reported up to the line's end.
+         */
+        void token(TokenType type, int start, int end);
+    }
+
+    public static final int NORMAL = 0;
+
+    // The low two bits of a state say what is open, the rest holds the
+    // long bracket level or the quote character
+    private static final int LONG_COMMENT = 1;
+    private static final int LONG_STRING = 2;
+    private static final int QUOTED_STRING = 3;
+
+    // Character classes
+    private static final byte OTHER = 0;
+    private static final byte SPACE = 1;
+    private static final byte LETTER = 2;
+    private static final byte DIGIT = 3;
+    private static final byte QUOTE = 4;
+    private static final byte MINUS = 5;
+    private static final byte BRACKET = 6;
+    private static final byte DOT = 7;
+    private static final byte COMPARE = 8;
+
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) CLASSES[c] = LETTER;
+        for (char c = 'A'; c <= 'Z'; c++) CLASSES[c] = LETTER;
+        for (char c = '0'; c <= '9'; c++) CLASSES[c] = DIGIT;
+        CLASSES['_'] = LETTER;
+        CLASSES[' '] = SPACE;
+        CLASSES['\t'] = SPACE;
+        CLASSES['\r'] = SPACE;
+        CLASSES['\n'] = SPACE;
+        CLASSES['\f'] = SPACE;
+        CLASSES[0x0B] = SPACE;
+        CLASSES['"'] = QUOTE;
+        CLASSES['\''] = QUOTE;
+        CLASSES['-'] = MINUS;
+        CLASSES['['] = BRACKET;
+        CLASSES['.'] = DOT;
+        CLASSES['='] = COMPARE;
+        CLASSES['<'] = COMPARE;
+        CLASSES['>'] = COMPARE;
+        CLASSES['~'] = COMPARE;
+    }
+
+    // Reserved words by length, for matching without creating a String
+    private static final String[][] KEYWORDS = new String[9][];
+
+    static {
+        KEYWORDS[2] = new String[]{"do", "if", "in", "or"};
+        KEYWORDS[3] = new String[]{"and", "end", "for", "nil", "not"};
+        KEYWORDS[4] = new String[]{"else", "then", "true"};
+        KEYWORDS[5] = new String[]{"break", "false", "local", "until", "while"};
+        KEYWORDS[6] = new String[]{"elseif", "repeat", "return"};
+        KEYWORDS[8] = new String[]{"function"};
+    }
+
+    private LuaLexer() {
+    }
+
+    /**
+     * Lexes {@code text[start, end)}, which must not contain a line break.
+     *
+     * @param state the state the previous line ended in, or {@link #NORMAL}
+     *              for the first line
+     * @return the state this line ends in
+     */
+    public static int lexLine(CharSequence text, int start, int end, int state, TokenSink sink) {
+        int position = start;
+
+        // Finish whatever the previous line left open
+        if (state != NORMAL) {
+            int kind = state & 3;
+            int closed = kind == QUOTED_STRING
+                    ? closeQuotedString(text, position, end, (char) (state >>> 2))
+                    : closeLongBracket(text, position, end, state >>> 2);
+            TokenType type = kind == LONG_COMMENT ? TokenType.COMMENT : TokenType.STRING;
+
+            if (closed < 0) {
+                if (end > position) sink.token(type, position, end);
+                return kind == QUOTED_STRING ? continuedState(text, start, end, state) : state;
+            }
+            sink.token(type, position, closed);
+            position = closed;
+        }
+
+        while (position < end) {
+            char c = text.charAt(position);
+            byte charClass = c < 128 ? CLASSES[c] : OTHER;
+            int tokenStart = position;
+
+            switch (charClass) {
+                case SPACE:
+                    position++;
+                    break;
+
+                case LETTER:
+                    do {
+                        position++;
+                    } while (position < end && isNameChar(text.charAt(position)));
+                    sink.token(nameType(text, tokenStart, position), tokenStart, position);
+                    break;
+
+                case DIGIT:
+                    position = scanNumber(text, position, end);
+                    sink.token(TokenType.NUMBER, tokenStart, position);
+                    break;
+
+                case DOT:
+                    if (position + 1 < end && isDigit(text.charAt(position + 1))) {
+                        position = scanNumber(text, position, end);
+                        sink.token(TokenType.NUMBER, tokenStart, position);
+                    } else {
+                        // . .. or ...
+                        position++;
+                        while (position < end && position - tokenStart < 3 && text.charAt(position) == '.') {
+                            position++;
+                        }
+                        sink.token(TokenType.OPERATOR, tokenStart, position);
+                    }
+                    break;
+
+                case QUOTE: {
+                    int closed = closeQuotedString(text, position + 1, end, c);
+                    if (closed < 0) {
+                        sink.token(TokenType.STRING, tokenStart, end);
+                        return continuedState(text, tokenStart + 1, end, (c << 2) | QUOTED_STRING);
+                    }
+                    sink.token(TokenType.STRING, tokenStart, closed);
+                    position = closed;
+                    break;
+                }
+
+                case MINUS:
+                    if (position + 1 < end && text.charAt(position + 1) == '-') {
+                        // --[=*[ opens a long comment; anything else runs to the end of the line
+                        int level = longBracketLevel(text, position + 2, end);
+                        if (level < 0) {
+                            sink.token(TokenType.COMMENT, tokenStart, end);
+                            return NORMAL;
+                        }
+                        int closed = closeLongBracket(text, position + 4 + level, end, level);
+                        if (closed < 0) {
+                            sink.token(TokenType.COMMENT, tokenStart, end);
+                            return (level << 2) | LONG_COMMENT;
+                        }
+                        sink.token(TokenType.COMMENT, tokenStart, closed);
+                        position = closed;
+                    } else {
+                        position++;
+                        sink.token(TokenType.OPERATOR, tokenStart, position);
+                    }
+                    break;
+
+                case BRACKET: {
+                    int level = longBracketLevel(text, position, end);
+                    if (level < 0) {
+                        position++;
+                        sink.token(TokenType.OPERATOR, tokenStart, position);
+                        break;
+                    }
+                    int closed = closeLongBracket(text, position + 2 + level, end, level);
+                    if (closed < 0) {
+                        sink.token(TokenType.STRING, tokenStart, end);
+                        return (level << 2) | LONG_STRING;
+                    }
+                    sink.token(TokenType.STRING, tokenStart, closed);
+                    position = closed;
+                    break;
+                }
+
+                case COMPARE:
+                    // == ~= <= >=
+                    position++;
+                    if (position < end && text.charAt(position) == '=') position++;
+                    sink.token(TokenType.OPERATOR, tokenStart, position);
+                    break;
+
+                default:
+                    position++;
+                    sink.token(TokenType.OPERATOR, tokenStart, position);
+                    break;
+            }
+        }
+        return NORMAL;
+    }
+
+    private static TokenType nameType(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length >= KEYWORDS.length || KEYWORDS[length] == null) return TokenType.NAME;
+
+        for (String keyword : KEYWORDS[length]) {
+            if (regionEquals(text, start, keyword)) {
+                switch (keyword) {
+                    case "nil":
+                    case "true":
+                    case "false":
+                        return TokenType.CONSTANT;
+                    default:
+                        return TokenType.KEYWORD;
+                }
+            }
+        }
+        return TokenType.NAME;
+    }
+
+    private static boolean regionEquals(CharSequence text, int start, String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (text.charAt(start + i) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Numbers as Lua 5.1 reads them: digits and dots, an optional exponent
+     * sign, then any trailing letters (which covers hex and malformed
+     * numbers alike).
+     */
+    private static int scanNumber(CharSequence text, int position, int end) {
+        while (position < end && (isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+            position++;
+        }
+        if (position < end && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            position++;
+            if (position < end && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                position++;
+            }
+        }
+        while (position < end && isNameChar(text.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * @return the level of the long bracket opening at {@code position}
+     * ({@code [[} is 0, {@code [=[} is 1, ...), or -1 if there isn't one
+     */
+    private static int longBracketLevel(CharSequence text, int position, int end) {
+        if (position >= end || text.charAt(position) != '[') return -1;
+        int level = 0;
+        position++;
+        while (position < end && text.charAt(position) == '=') {
+            level++;
+            position++;
+        }
+        return position < end && text.charAt(position) == '[' ? level : -1;
+    }
+
+    /**
+     * @return the offset just past the closing bracket of the given level,
+     * or -1 if it doesn't close before {@code end}
+     */
+    private static int closeLongBracket(CharSequence text, int position, int end, int level) {
+        while (position < end) {
+            if (text.charAt(position++) != ']') continue;
+
+            int equals = 0;
+            while (position < end && text.charAt(position) == '=') {
+                equals++;
+                position++;
+            }
+            if (equals == level && position < end && text.charAt(position) == ']') {
+                return position + 1;
+            }
+            // A ']' that doesn't close may start the real closing bracket
+        }
+        return -1;
+    }
+
+    /**
+     * @return the offset just past the closing quote, or -1 if the string
+     * doesn't close before {@code end}
+     */
+    private static int closeQuotedString(CharSequence text, int position, int end, char quote) {
+        while (position < end) {
+            char c = text.charAt(position++);
+            if (c == quote) return position;
+            // Escapes are never longer than the escaped character that matters here
+            if (c == '\\') position++;
+        }
+        return -1;
+    }
+
+    /**
+     * An unclosed quoted string carries on to the next line only when the
+     * line ends in an escaping backslash.
+     */
+    private static int continuedState(CharSequence text, int contentStart, int end, int state) {
+        boolean escaped = false;
+        for (int i = contentStart; i < end; i++) {
+            escaped = !escaped && text.charAt(i) == '\\';
+        }
+        return escaped ? state : NORMAL;
+    }
+
+    private static boolean isNameChar(char c) {
+        return c < 128 && (CLASSES[c] == LETTER || CLASSES[c] == DIGIT);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -10,6 +10,7 @@
 package com.chalwk.util;
 
 import java.io.*;
+import java.time.Duration;
 import java.util.Properties;
 
 public class PreferencesManager {
@@ -70,4 +71,55 @@ public class PreferencesManager {
     public void setSkippedVersion(String version) {
         setUpdatePreference("skippedVersion", version);
     }
+
+    public void setDownloadPreference(String key, String value) {
+        properties.setProperty("download." + key, value);
+        save();
+    }
+
+    public String getDownloadPreference(String key, String defaultValue) {
+        return properties.getProperty("download." + key, defaultValue);
+    }
+
+    public boolean getStreamingExtractionEnabled() {
+        return Boolean.parseBoolean(getDownloadPreference("streamExtract", "true"));
+    }
+
+    public void setStreamingExtractionEnabled(boolean enabled) {
+        setDownloadPreference("streamExtract", String.valueOf(enabled));
+    }
+
+    public boolean getIncrementalExtractionEnabled() {
+        return Boolean.parseBoolean(getDownloadPreference("incrementalExtract", "true"));
+    }
+
+    public void setIncrementalExtractionEnabled(boolean enabled) {
+        setDownloadPreference("incrementalExtract", String.valueOf(enabled));
+    }
+
+    public Duration getConnectTimeout() {
+        return Duration.ofSeconds(getDownloadPreference("connectTimeoutSeconds", 15, 1, 3600));
+    }
+
+    public Duration getRequestTimeout() {
+        return Duration.ofSeconds(getDownloadPreference("requestTimeoutSeconds", 30, 1, 3600));
+    }
+
+    public long getArtifactCacheMaxSize() {
+        // Up to 1 TB, far below where the byte count could overflow
+        long megabytes = getDownloadPreference("cacheMaxSizeMb", 2048, 64, 1024 * 1024);
+        return megabytes * 1024 * 1024;
+    }
+
+    // The file can be edited by hand; a bad value falls back to the default instead of failing startup
+    private long getDownloadPreference(String key, long defaultValue, long min, long max) {
+        long value;
+        try {
+            value = Long.parseLong(getDownloadPreference(key, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid value for download." + key + ", using " + defaultValue);
+            value = defaultValue;
+        }
+        return Math.max(min, Math.min(max, value));
+    }
 }
\ No newline at end of file